@@ -0,0 +1,34 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of the benchmark jar. Runs JMH with the given arguments and writes machine-readable
+ * results to "jmh-result.json" unless a result format or file is given explicitly.
+ *
+ * Example: {@code java -jar benchmarks.jar ProjectScannerBenchmark -p projects=1000 -rff scan.json}
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+        // entry point only
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add("jmh-result.json");
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+
+}
@@ -0,0 +1,106 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializer;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializerBuilder;
+import tools.mdsd.library.standalone.initialization.core.EclipseProjectScanner;
+
+/**
+ * Benchmarks of a complete initialization: scanning a synthetic workspace and registering meta
+ * models of different sizes from one of its projects.
+ *
+ * The ecore classpath detection is disabled because it registers the same extensions in every
+ * invocation and depends on the classpath of the benchmark rather than on the workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InitializerBenchmark {
+
+    private static final int[] META_MODEL_SIZES = { 10, 100, 1000 };
+
+    @Param({ "10", "1000", "10000" })
+    public int projects;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private Path workspace;
+
+    @Setup(Level.Trial)
+    public void createWorkspace() throws IOException {
+        Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap()
+            .put("ecore", new EcoreResourceFactoryImpl());
+        workspace = Files.createTempDirectory("benchmark-initializer");
+        SyntheticWorkspace.createWorkspace(workspace.resolve("projects"), projects);
+        var metaModelProject = workspace.resolve(SyntheticWorkspace.META_MODEL_PROJECT);
+        for (int size : META_MODEL_SIZES) {
+            SyntheticWorkspace.createMetaModel(metaModelProject, metaModelFile(size), size);
+        }
+        Files.writeString(metaModelProject.resolve(".project"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<projectDescription>\n\t<name>" + SyntheticWorkspace.META_MODEL_PROJECT
+                + "</name>\n</projectDescription>\n");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() {
+        SyntheticWorkspace.delete(workspace);
+    }
+
+    /**
+     * Measures an initialization that executes all tasks again.
+     */
+    @Benchmark
+    public void buildAndInit() throws StandaloneInitializationException {
+        createInitializer(true).init();
+    }
+
+    /**
+     * Measures a repeated initialization whose tasks all completed before, so they are skipped.
+     */
+    @Benchmark
+    public void buildAndInitCompleted() throws StandaloneInitializationException {
+        createInitializer(false).init();
+    }
+
+    private StandaloneInitializer createInitializer(boolean forceRefresh) {
+        var builder = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useParallelExecution(parallel)
+            .forceRefresh(forceRefresh)
+            .addCustomTask(new EclipseProjectScanner(workspace));
+        for (int size : META_MODEL_SIZES) {
+            builder.registerMetaModel(SyntheticWorkspace.META_MODEL_PROJECT, "model/" + metaModelFile(size));
+        }
+        return builder.build();
+    }
+
+    private static String metaModelFile(int size) {
+        return "metamodel" + size + ".ecore";
+    }
+
+}
@@ -0,0 +1,87 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.core.MetaModelRegistrationTask;
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
+
+/**
+ * Benchmarks of registering meta models of different sizes.
+ *
+ * The mode "xmi" parses the meta model, "cached" loads a binary copy from a warm cache and "lazy"
+ * only registers descriptors of the packages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetaModelRegistrationBenchmark {
+
+    private static final String META_MODEL_FILE = "benchmark.ecore";
+
+    @Param({ "10", "1000", "10000" })
+    public int classes;
+
+    @Param({ "xmi", "cached", "lazy" })
+    public String mode;
+
+    private Path project;
+    private Path cacheDirectory;
+    private String nsURI;
+
+    @Setup(Level.Trial)
+    public void createMetaModel() throws IOException, StandaloneInitializationException {
+        Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap()
+            .put("ecore", new EcoreResourceFactoryImpl());
+        project = Files.createTempDirectory("benchmark-metamodel")
+            .resolve(SyntheticWorkspace.META_MODEL_PROJECT);
+        nsURI = SyntheticWorkspace.createMetaModel(project, META_MODEL_FILE, classes);
+        new ProjectURIByLocationRegistration(project.toFile(), SyntheticWorkspace.META_MODEL_PROJECT).init();
+        if ("cached".equals(mode)) {
+            cacheDirectory = Files.createTempDirectory("benchmark-cache");
+            // fill the cache, so the measurement only covers cache hits
+            createTask().init();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteMetaModel() {
+        EPackage.Registry.INSTANCE.remove(nsURI);
+        SyntheticWorkspace.delete(project.getParent());
+        SyntheticWorkspace.delete(cacheDirectory);
+    }
+
+    @Benchmark
+    public void registerMetaModel() throws StandaloneInitializationException {
+        createTask().init();
+    }
+
+    private MetaModelRegistrationTask createTask() {
+        return new MetaModelRegistrationTask(SyntheticWorkspace.META_MODEL_PROJECT, "model/" + META_MODEL_FILE,
+                cacheDirectory, "lazy".equals(mode));
+    }
+
+}
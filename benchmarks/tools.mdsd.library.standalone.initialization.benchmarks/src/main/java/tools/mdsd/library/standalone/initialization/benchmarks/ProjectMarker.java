@@ -0,0 +1,9 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+/**
+ * Class without dependencies that is copied into a synthetic project folder, so the location of a
+ * project can be derived from a class loaded from a folder.
+ */
+public class ProjectMarker {
+
+}
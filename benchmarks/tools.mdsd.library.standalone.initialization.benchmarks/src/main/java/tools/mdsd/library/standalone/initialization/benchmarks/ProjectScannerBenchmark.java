@@ -0,0 +1,97 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.core.EclipseProjectScanner;
+
+/**
+ * Benchmarks of finding projects in synthetic workspaces of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ProjectScannerBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int projects;
+
+    private Path workspace;
+    private Path indexFile;
+
+    @Setup(Level.Trial)
+    public void createWorkspace() throws IOException {
+        workspace = Files.createTempDirectory("benchmark-workspace");
+        SyntheticWorkspace.createWorkspace(workspace, projects);
+        indexFile = Files.createTempDirectory("benchmark-index")
+            .resolve("projects.index");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() {
+        SyntheticWorkspace.delete(workspace);
+        SyntheticWorkspace.delete(indexFile.getParent());
+    }
+
+    /**
+     * Walks the whole workspace without an index.
+     */
+    @Benchmark
+    public Map<String, File> findProjects() throws IOException {
+        return ScannerAccess.find(workspace);
+    }
+
+    /**
+     * Finds and registers the projects without an index.
+     */
+    @Benchmark
+    public void scanAndRegister() throws StandaloneInitializationException {
+        new EclipseProjectScanner(workspace).init();
+    }
+
+    /**
+     * Finds and registers the projects by using an index that is up to date after the first
+     * invocation.
+     */
+    @Benchmark
+    public void scanAndRegisterWithIndex() throws StandaloneInitializationException {
+        new EclipseProjectScanner(workspace, indexFile).init();
+    }
+
+    /**
+     * Gives access to the protected scanning method of the scanner.
+     */
+    private static class ScannerAccess extends EclipseProjectScanner {
+
+        private ScannerAccess() {
+            super(null);
+        }
+
+        static Map<String, File> find(Path basePath) throws IOException {
+            return EclipseProjectScanner.findProjects(basePath);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByClasspathRegistration;
+
+/**
+ * Benchmarks of deriving the location of a project from a class of the project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ProjectURIBenchmark {
+
+    private static final String PROJECT_NAME = "benchmark.marker";
+
+    private Path projectFolder;
+    private URLClassLoader classLoader;
+    private Class<?> classFromFolder;
+
+    @Setup(Level.Trial)
+    public void createProject() throws IOException, ClassNotFoundException {
+        projectFolder = Files.createTempDirectory("benchmark-uri")
+            .resolve(PROJECT_NAME);
+        var classFile = ProjectMarker.class.getName()
+            .replace('.', '/') + ".class";
+        var target = projectFolder.resolve("bin")
+            .resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (var in = ProjectMarker.class.getClassLoader()
+            .getResourceAsStream(classFile)) {
+            Files.copy(in, target);
+        }
+        // no parent, so the class is defined from the project folder instead of the benchmark jar
+        classLoader = new URLClassLoader(new URL[] { projectFolder.resolve("bin")
+            .toUri()
+            .toURL() }, null);
+        classFromFolder = classLoader.loadClass(ProjectMarker.class.getName());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteProject() throws IOException {
+        classLoader.close();
+        SyntheticWorkspace.delete(projectFolder.getParent());
+    }
+
+    /**
+     * Derives the location of a project compiled into a folder.
+     */
+    @Benchmark
+    public Optional<URI> classFromFolder() {
+        return ProjectURIAccess.find(classFromFolder, PROJECT_NAME);
+    }
+
+    /**
+     * Derives the location of a bundle packaged as archive.
+     */
+    @Benchmark
+    public Optional<URI> classFromArchive() {
+        return ProjectURIAccess.find(EObject.class, "org.eclipse.emf.ecore");
+    }
+
+    /**
+     * Gives access to the protected lookup method of the registration.
+     */
+    private static class ProjectURIAccess extends ProjectURIByClasspathRegistration {
+
+        private ProjectURIAccess() {
+            super(ProjectMarker.class, PROJECT_NAME, PROJECT_NAME);
+        }
+
+        static Optional<URI> find(Class<?> clz, String projectRootFolderName) {
+            return ProjectURIByClasspathRegistration.getRealProjectURI(clz, projectRootFolderName);
+        }
+    }
+
+}
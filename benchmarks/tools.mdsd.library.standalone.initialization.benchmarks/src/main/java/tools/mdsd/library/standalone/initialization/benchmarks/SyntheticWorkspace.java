@@ -0,0 +1,139 @@
+package tools.mdsd.library.standalone.initialization.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic workspaces and meta models for the benchmarks.
+ *
+ * A workspace consists of groups of at most 100 projects, so the projects are located at depth two
+ * below the workspace folder. Every project has a project file, every second project additionally
+ * has a bundle manifest whose symbolic name differs from the project name. Every project contains
+ * a few source folders that have to be walked by scanners.
+ */
+final class SyntheticWorkspace {
+
+    static final String META_MODEL_PROJECT = "benchmark.metamodels";
+    private static final int PROJECTS_PER_GROUP = 100;
+
+    private SyntheticWorkspace() {
+        // utility class
+    }
+
+    /**
+     * Creates a workspace.
+     *
+     * @param workspace
+     *            The folder to create the projects in.
+     * @param projectCount
+     *            The number of projects to create.
+     * @throws IOException
+     *             In case the workspace could not be written.
+     */
+    static void createWorkspace(Path workspace, int projectCount) throws IOException {
+        for (int i = 0; i < projectCount; i++) {
+            var projectName = projectName(i);
+            var project = workspace.resolve("group-" + (i / PROJECTS_PER_GROUP))
+                .resolve(projectName);
+            Files.createDirectories(project.resolve("src/main/java"));
+            Files.createDirectories(project.resolve("model"));
+            Files.writeString(project.resolve(".project"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<projectDescription>\n\t<name>" + projectName + "</name>\n\t<comment></comment>\n"
+                    + "\t<projects>\n\t</projects>\n</projectDescription>\n", StandardCharsets.UTF_8);
+            if (i % 2 == 0) {
+                Files.createDirectories(project.resolve("META-INF"));
+                Files.writeString(project.resolve("META-INF/MANIFEST.MF"),
+                        "Manifest-Version: 1.0\nBundle-ManifestVersion: 2\nBundle-Name: Benchmark\n"
+                                + "Bundle-SymbolicName: " + projectName + ".bundle;singleton:=true\n"
+                                + "Bundle-Version: 1.0.0\n\n",
+                        StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Determines the name of a generated project.
+     *
+     * @param index
+     *            The index of the project.
+     * @return The project name.
+     */
+    static String projectName(int index) {
+        return String.format("benchmark.project%05d", index);
+    }
+
+    /**
+     * Creates a project holding a meta model.
+     *
+     * @param project
+     *            The project folder.
+     * @param fileName
+     *            The file name of the meta model.
+     * @param classCount
+     *            The number of classes of the meta model. Every class has an attribute and a
+     *            reference to its predecessor.
+     * @return The namespace URI of the meta model.
+     * @throws IOException
+     *             In case the meta model could not be written.
+     */
+    static String createMetaModel(Path project, String fileName, int classCount) throws IOException {
+        var nsURI = "http://benchmark/" + fileName + "/" + classCount;
+        var content = new StringBuilder();
+        content.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<ecore:EPackage xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\"")
+            .append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"")
+            .append(" xmlns:ecore=\"http://www.eclipse.org/emf/2002/Ecore\" name=\"benchmark\"")
+            .append(" nsURI=\"")
+            .append(nsURI)
+            .append("\" nsPrefix=\"benchmark\">\n");
+        for (int i = 0; i < classCount; i++) {
+            content.append("  <eClassifiers xsi:type=\"ecore:EClass\" name=\"Class")
+                .append(i)
+                .append("\">\n")
+                .append("    <eStructuralFeatures xsi:type=\"ecore:EAttribute\" name=\"name\"")
+                .append(" eType=\"ecore:EDataType http://www.eclipse.org/emf/2002/Ecore#//EString\"/>\n");
+            if (i > 0) {
+                content.append("    <eStructuralFeatures xsi:type=\"ecore:EReference\" name=\"previous\"")
+                    .append(" eType=\"#//Class")
+                    .append(i - 1)
+                    .append("\"/>\n");
+            }
+            content.append("  </eClassifiers>\n");
+        }
+        content.append("</ecore:EPackage>\n");
+        Files.createDirectories(project.resolve("model"));
+        Files.writeString(project.resolve("model")
+            .resolve(fileName), content, StandardCharsets.UTF_8);
+        return nsURI;
+    }
+
+    /**
+     * Deletes a generated folder recursively.
+     *
+     * @param folder
+     *            The folder to delete.
+     */
+    static void delete(Path folder) {
+        if (folder == null || !Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder())
+                .forEach(path -> {
+                    try {
+                        Files.delete(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package tools.mdsd.library.standalone.initialization.emfprofiles;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.modelversioning.emfprofile.Profile;
+import org.modelversioning.emfprofile.registry.IProfileRegistry;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializerBuilder;
+import tools.mdsd.library.standalone.initialization.core.MetaModelBatchRegistrationTask;
+import tools.mdsd.library.standalone.initialization.core.ProjectFileDiscovery;
+
+/**
+ * Initialization task for all {@link Profile}s of EMF Profiles contained in a project.
+ *
+ * The profiles are discovered by a glob pattern when the task is executed. Like in
+ * {@link MetaModelBatchRegistrationTask}, they are parsed in parallel, combined in one shared
+ * resource set and registered in one pass. The load time of every profile is recorded, see
+ * {@link #getLoadTimes()}.
+ *
+ * This task is not self-contained. In order to make the registration work, callers have to ensure
+ * that the project containing the profiles is already known to the EMF registry by using
+ * initialization tasks like {@link StandaloneInitializerBuilder#registerProjectURI(Class, String)}.
+ */
+public class EMFProfileBatchInitializationTask implements InitializationTask {
+
+    /**
+     * The pattern matching all profiles of a project.
+     */
+    public static final String DEFAULT_PROFILE_PATTERN = "**.emfprofile_diagram";
+
+    private final String projectName;
+    private final String profilePattern;
+    private final Path cacheDirectory;
+    private volatile List<String> profilePaths = Collections.emptyList();
+    private volatile Map<String, Duration> loadTimes = Collections.emptyMap();
+
+    /**
+     * Constructs the task registering all profiles of a project.
+     *
+     * @param projectName
+     *            The name of the project that holds the profiles.
+     */
+    public EMFProfileBatchInitializationTask(String projectName) {
+        this(projectName, DEFAULT_PROFILE_PATTERN, null);
+    }
+
+    /**
+     * Constructs the task.
+     *
+     * @param projectName
+     *            The name of the project that holds the profiles.
+     * @param profilePattern
+     *            The glob pattern for the paths of the profiles relative to the project, see
+     *            {@link ProjectFileDiscovery#findFiles(String, String)}.
+     * @param cacheDirectory
+     *            The directory to store binary copies of the profiles in or null to disable
+     *            caching.
+     */
+    public EMFProfileBatchInitializationTask(String projectName, String profilePattern, Path cacheDirectory) {
+        this.projectName = projectName;
+        this.profilePattern = profilePattern;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Profile registration of " + profilePattern + " in " + projectName;
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return Optional.of("emf-profiles:" + projectName + "/" + profilePattern);
+    }
+
+    @Override
+    public void initilizationWithoutPlatform() throws StandaloneInitializationException {
+        var discoveredPaths = ProjectFileDiscovery.findFiles(projectName, profilePattern);
+        profilePaths = discoveredPaths;
+        if (discoveredPaths.isEmpty()) {
+            loadTimes = Collections.emptyMap();
+            return;
+        }
+        var registrationTask = new MetaModelBatchRegistrationTask(projectName, discoveredPaths, cacheDirectory);
+        try {
+            registrationTask.initilizationWithoutPlatform();
+        } finally {
+            loadTimes = registrationTask.getLoadTimes();
+        }
+    }
+
+    @Override
+    public void initializationWithPlatform() throws StandaloneInitializationException {
+        /*
+         * The profile registry reads extension points and registers profiles. See
+         * EMFProfileInitializationTask for details.
+         */
+        IProfileRegistry.eINSTANCE.getClass();
+    }
+
+    /**
+     * Provides the profiles found by the last execution.
+     *
+     * @return The paths of the profiles relative to the project in lexical order.
+     */
+    public List<String> getProfilePaths() {
+        return profilePaths;
+    }
+
+    /**
+     * Provides the time spent loading each profile during the last execution.
+     *
+     * @return The load times by profile path.
+     */
+    public Map<String, Duration> getLoadTimes() {
+        return loadTimes;
+    }
+
+}
@@ -1,18 +1,249 @@
 package tools.mdsd.library.standalone.initialization.log4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
 import org.apache.log4j.BasicConfigurator;
 import org.apache.log4j.ConsoleAppender;
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
 import org.apache.log4j.PatternLayout;
 
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
 
+/**
+ * Resets the Log4j configuration and logs to the console or to a file.
+ *
+ * By default, a synchronous console appender is installed, so every log call waits for the output.
+ * Use {@link #builder()} to put a bounded {@link AsyncAppender} in front of the output, so log calls
+ * only enqueue their events, and to set the levels of individual loggers. Events still buffered
+ * when the virtual machine shuts down are written by a shutdown hook.
+ */
 public class Log4jInitilizationTask implements InitializationTask {
 
+    /**
+     * The layout pattern used by default.
+     */
+    public static final String DEFAULT_LAYOUT_PATTERN = "%m%n";
+
+    private static final AtomicBoolean SHUTDOWN_HOOK_REGISTERED = new AtomicBoolean();
+    private static volatile AsyncAppender installedAsyncAppender;
+
+    private final String layoutPattern;
+    private final Path logFile;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Level rootLevel;
+    private final Map<String, Level> loggerLevels;
+
+    /**
+     * Constructs the task installing a synchronous console appender.
+     */
+    public Log4jInitilizationTask() {
+        this(DEFAULT_LAYOUT_PATTERN, null, 0, OverflowPolicy.BLOCK, null, Collections.emptyMap());
+    }
+
+    private Log4jInitilizationTask(String layoutPattern, Path logFile, int bufferSize, OverflowPolicy overflowPolicy,
+            Level rootLevel, Map<String, Level> loggerLevels) {
+        this.layoutPattern = layoutPattern;
+        this.logFile = logFile;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.rootLevel = rootLevel;
+        this.loggerLevels = Collections.unmodifiableMap(new LinkedHashMap<>(loggerLevels));
+    }
+
+    /**
+     * Create a new instance of a builder.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Log4j initialization" + (bufferSize > 0 ? " with asynchronous appender" : "");
+    }
+
     @Override
     public void initilizationWithoutPlatform() throws StandaloneInitializationException {
         BasicConfigurator.resetConfiguration();
-        BasicConfigurator.configure(new ConsoleAppender(new PatternLayout("%m%n")));
+        var appender = createOutputAppender();
+        if (bufferSize > 0) {
+            var asyncAppender = new AsyncAppender();
+            asyncAppender.setName("async");
+            asyncAppender.setBufferSize(bufferSize);
+            // a non-blocking appender discards events while the buffer is full and reports the number
+            asyncAppender.setBlocking(overflowPolicy == OverflowPolicy.BLOCK);
+            asyncAppender.addAppender(appender);
+            appender = asyncAppender;
+            installedAsyncAppender = asyncAppender;
+            registerShutdownHook();
+        }
+        BasicConfigurator.configure(appender);
+        if (rootLevel != null) {
+            Logger.getRootLogger()
+                .setLevel(rootLevel);
+        }
+        for (var loggerLevel : loggerLevels.entrySet()) {
+            Logger.getLogger(loggerLevel.getKey())
+                .setLevel(loggerLevel.getValue());
+        }
+    }
+
+    private Appender createOutputAppender() throws StandaloneInitializationException {
+        var layout = new PatternLayout(layoutPattern);
+        if (logFile == null) {
+            return new ConsoleAppender(layout);
+        }
+        try {
+            var parent = logFile.toAbsolutePath()
+                .getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            return new FileAppender(layout, logFile.toString(), true);
+        } catch (IOException e) {
+            throw new StandaloneInitializationException("Could not open the log file " + logFile, e);
+        }
+    }
+
+    private static void registerShutdownHook() {
+        if (SHUTDOWN_HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime()
+                .addShutdownHook(new Thread(() -> {
+                    var asyncAppender = installedAsyncAppender;
+                    if (asyncAppender != null) {
+                        // closing waits until the buffered events have been written
+                        asyncAppender.close();
+                    }
+                }, "log4j-async-appender-shutdown"));
+        }
+    }
+
+    /**
+     * The behavior of the asynchronous appender while its buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Log calls wait until the buffer has room for the event.
+         */
+        BLOCK,
+        /**
+         * Log calls discard the event. The number of discarded events is logged later.
+         */
+        DROP
+    }
+
+    /**
+     * Builder of {@link Log4jInitilizationTask} instances.
+     */
+    public static class Builder {
+
+        private String layoutPattern = DEFAULT_LAYOUT_PATTERN;
+        private Path logFile = null;
+        private int bufferSize = 0;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private Level rootLevel = null;
+        private final Map<String, Level> loggerLevels = new LinkedHashMap<>();
+
+        private Builder() {
+            // intentionally left blank
+        }
+
+        /**
+         * Installs a bounded asynchronous appender in front of the console or file appender. The
+         * default is logging synchronously.
+         *
+         * @param bufferSize
+         *            The maximum number of buffered events.
+         * @param overflowPolicy
+         *            The behavior while the buffer is full.
+         * @return Modified builder instance.
+         */
+        public Builder useAsyncAppender(int bufferSize, OverflowPolicy overflowPolicy) {
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("The buffer has to hold at least one event.");
+            }
+            this.bufferSize = bufferSize;
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+            return this;
+        }
+
+        /**
+         * Appends the log to a file instead of printing it to the console. The default is the
+         * console.
+         *
+         * @param file
+         *            The log file or null to log to the console again.
+         * @return Modified builder instance.
+         */
+        public Builder logToFile(Path file) {
+            this.logFile = file;
+            return this;
+        }
+
+        /**
+         * Sets the layout of the log events. The default is
+         * {@value Log4jInitilizationTask#DEFAULT_LAYOUT_PATTERN}.
+         *
+         * @param pattern
+         *            The pattern of the {@link PatternLayout}.
+         * @return Modified builder instance.
+         */
+        public Builder useLayoutPattern(String pattern) {
+            this.layoutPattern = Objects.requireNonNull(pattern);
+            return this;
+        }
+
+        /**
+         * Sets the level of the root logger. The default is {@link Level#DEBUG}.
+         *
+         * @param level
+         *            The level.
+         * @return Modified builder instance.
+         */
+        public Builder setRootLevel(Level level) {
+            this.rootLevel = level;
+            return this;
+        }
+
+        /**
+         * Sets the level of a logger and of its descendants without own level, e.g. to reduce the
+         * logging of EMF or OCL.
+         *
+         * @param loggerName
+         *            The name of the logger, usually a package or class name.
+         * @param level
+         *            The level.
+         * @return Modified builder instance.
+         */
+        public Builder setLevel(String loggerName, Level level) {
+            loggerLevels.put(Objects.requireNonNull(loggerName), Objects.requireNonNull(level));
+            return this;
+        }
+
+        /**
+         * Builds the task.
+         *
+         * @return The task.
+         */
+        public Log4jInitilizationTask build() {
+            return new Log4jInitilizationTask(layoutPattern, logFile, bufferSize, overflowPolicy, rootLevel,
+                    loggerLevels);
+        }
     }
 
 }
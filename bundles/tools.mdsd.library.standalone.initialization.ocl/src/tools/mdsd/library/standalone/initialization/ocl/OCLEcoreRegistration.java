@@ -1,5 +1,11 @@
 package tools.mdsd.library.standalone.initialization.ocl;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.ocl.ecore.OCL;
 import org.eclipse.ocl.ecore.delegate.OCLDelegateDomain;
 
@@ -7,14 +13,72 @@ import tools.mdsd.library.standalone.initialization.InitializationTask;
 
 /**
  * Initializes the Ecore OCL implementation.
+ *
+ * Optionally, the OCL delegate expressions of all packages registered in the global package
+ * registry are parsed during the initialization, so the first validation or evaluation
+ * does not have to parse them. Package descriptors are not resolved for this purpose. Therefore,
+ * the task has to be executed after the registration of the meta models, e.g. by declaring the
+ * meta model registrations as its dependencies.
  */
 public class OCLEcoreRegistration implements InitializationTask {
 
+    private final boolean preParseExpressions;
+    private volatile Map<String, String> parseFailures = Collections.emptyMap();
+
+    /**
+     * Constructs the task without parsing expressions ahead of their first evaluation.
+     */
+    public OCLEcoreRegistration() {
+        this(false);
+    }
+
+    /**
+     * Constructs the task.
+     *
+     * @param preParseExpressions
+     *            True to parse the OCL delegate expressions of all registered packages.
+     */
+    public OCLEcoreRegistration(boolean preParseExpressions) {
+        this.preParseExpressions = preParseExpressions;
+    }
+
+    @Override
+    public String getDescription() {
+        return preParseExpressions ? "OCL initialization with expression pre-parsing" : "OCL initialization";
+    }
+
     @Override
     public void initilizationWithoutPlatform() {
         // OCL initialization
         OCL.initialize(null);
         OCLDelegateDomain.initialize(null);
+        if (preParseExpressions) {
+            parseFailures = OCLExpressionPreParser.preParse(getRegisteredRootPackages());
+        }
+    }
+
+    /**
+     * Provides the expressions that could not be parsed during the last execution. The delegates
+     * report these expressions again when they are evaluated.
+     *
+     * @return The reasons by the location of the expressions, i.e. the URI of the annotated element
+     *         and the annotation key separated by "@".
+     */
+    public Map<String, String> getParseFailures() {
+        return parseFailures;
+    }
+
+    private static Set<EPackage> getRegisteredRootPackages() {
+        Set<EPackage> rootPackages = new LinkedHashSet<>();
+        var registry = EPackage.Registry.INSTANCE;
+        synchronized (registry) {
+            for (Object value : registry.values()) {
+                if (value instanceof EPackage && ((EPackage) value).getESuperPackage() == null) {
+                    rootPackages.add((EPackage) value);
+                }
+            }
+        }
+        return rootPackages;
     }
 
 }
@@ -0,0 +1,168 @@
+package tools.mdsd.library.standalone.initialization.ocl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EModelElement;
+import org.eclipse.emf.ecore.EOperation;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.ocl.common.delegate.DelegateEPackageAdapter;
+import org.eclipse.ocl.ecore.OCL;
+import org.eclipse.ocl.ecore.delegate.InvocationBehavior;
+import org.eclipse.ocl.ecore.delegate.OCLDelegateDomain;
+import org.eclipse.ocl.ecore.delegate.SettingBehavior;
+import org.eclipse.ocl.ecore.delegate.ValidationBehavior;
+
+/**
+ * Parses the OCL delegate expressions of packages ahead of their first evaluation.
+ *
+ * Every expression is parsed by the {@link OCLDelegateDomain} of its package, i.e. by the same
+ * {@link OCL} instance and through the same behaviors that the OCL delegates use, so the delegates
+ * find the parsed expressions in their cache.
+ *
+ * The packages are processed sequentially. Parsing resolves package descriptors, which put the
+ * loaded packages into the global package registry, and it attaches adapters and types to shared
+ * classifiers. Neither is safe to do from several threads.
+ *
+ * The parsed expressions refer to types of the environment of their delegate domain, so they are
+ * only kept in memory and parsed again by every process.
+ */
+final class OCLExpressionPreParser {
+
+    private static final String DERIVATION = "derivation";
+    private static final String INITIAL = "initial";
+    private static final String BODY = "body";
+
+    private OCLExpressionPreParser() {
+        // utility class
+    }
+
+    /**
+     * Parses the expressions of the given packages and of all of their subpackages.
+     *
+     * @param rootPackages
+     *            The packages without super package.
+     * @return The expressions that could not be parsed by their location together with the reason.
+     */
+    static Map<String, String> preParse(Collection<EPackage> rootPackages) {
+        Map<String, String> failures = new TreeMap<>();
+        for (EPackage rootPackage : rootPackages) {
+            failures.putAll(preParse(rootPackage));
+        }
+        return Collections.unmodifiableMap(failures);
+    }
+
+    private static Map<String, String> preParse(EPackage rootPackage) {
+        List<Expression> expressions = new ArrayList<>();
+        collectExpressions(rootPackage, expressions);
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (Expression expression : expressions) {
+            try {
+                expression.parse();
+            } catch (RuntimeException e) {
+                failures.put(expression.location, String.valueOf(e.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    private static void collectExpressions(EPackage ePackage, List<Expression> expressions) {
+        // delegate domains are only created for packages that use OCL
+        var ocl = containsExpressions(ePackage) ? getOCL(ePackage) : null;
+        if (ocl != null) {
+            for (EClassifier eClassifier : ePackage.getEClassifiers()) {
+                for (var invariant : getDetails(eClassifier).entrySet()) {
+                    expressions.add(new Expression(eClassifier, invariant.getKey(),
+                            () -> ValidationBehavior.INSTANCE.getInvariant(eClassifier, invariant.getKey(), ocl)));
+                }
+                if (eClassifier instanceof EClass) {
+                    collectExpressions((EClass) eClassifier, ocl, expressions);
+                }
+            }
+        }
+        for (EPackage subpackage : ePackage.getESubpackages()) {
+            collectExpressions(subpackage, expressions);
+        }
+    }
+
+    private static void collectExpressions(EClass eClass, OCL ocl, List<Expression> expressions) {
+        for (EStructuralFeature feature : eClass.getEStructuralFeatures()) {
+            var details = getDetails(feature);
+            var key = details.containsKey(DERIVATION) ? DERIVATION : INITIAL;
+            if (details.containsKey(key)) {
+                expressions.add(new Expression(feature, key,
+                        () -> SettingBehavior.INSTANCE.getFeatureBody(ocl, feature)));
+            }
+        }
+        for (EOperation operation : eClass.getEOperations()) {
+            var details = getDetails(operation);
+            if (details.containsKey(BODY)) {
+                expressions.add(new Expression(operation, BODY,
+                        () -> InvocationBehavior.INSTANCE.getOperationBody(ocl, operation)));
+            }
+        }
+    }
+
+    private static boolean containsExpressions(EPackage ePackage) {
+        for (EClassifier eClassifier : ePackage.getEClassifiers()) {
+            if (!getDetails(eClassifier).isEmpty()) {
+                return true;
+            }
+            if (eClassifier instanceof EClass) {
+                var eClass = (EClass) eClassifier;
+                if (eClass.getEStructuralFeatures()
+                    .stream()
+                    .anyMatch(feature -> !getDetails(feature).isEmpty())
+                        || eClass.getEOperations()
+                            .stream()
+                            .anyMatch(operation -> !getDetails(operation).isEmpty())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static OCL getOCL(EPackage ePackage) {
+        var delegateDomain = DelegateEPackageAdapter.getAdapter(ePackage)
+            .getDelegateDomain(OCLDelegateDomain.OCL_DELEGATE_URI);
+        return delegateDomain instanceof OCLDelegateDomain ? ((OCLDelegateDomain) delegateDomain).getOCL() : null;
+    }
+
+    private static Map<String, String> getDetails(EModelElement element) {
+        EAnnotation annotation = element.getEAnnotation(OCLDelegateDomain.OCL_DELEGATE_URI);
+        if (annotation == null) {
+            return Collections.emptyMap();
+        }
+        return annotation.getDetails()
+            .map();
+    }
+
+    /**
+     * An OCL expression of a model element together with the behavior that parses it.
+     */
+    private static class Expression {
+        private final String location;
+        private final Runnable parser;
+
+        Expression(EModelElement element, String key, Runnable parser) {
+            this.location = EcoreUtil.getURI(element) + "@" + key;
+            this.parser = parser;
+        }
+
+        void parse() {
+            parser.run();
+        }
+    }
+
+}
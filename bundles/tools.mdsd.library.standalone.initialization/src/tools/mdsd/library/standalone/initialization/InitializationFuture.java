@@ -0,0 +1,227 @@
+package tools.mdsd.library.standalone.initialization;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+
+/**
+ * Result of an asynchronous initialization, see {@link StandaloneInitializer#initAsync()}.
+ *
+ * The future completes when all tasks have been executed. In addition, callers can wait for parts
+ * of the initialization, e.g. for the registration of a single project or package, while the
+ * remaining tasks are still running. Project and package readiness is checked against the global
+ * EMF registries, or the registries of the {@link InitializationScope} of the initializer, after
+ * every task, so it does not matter which task performs the registration.
+ *
+ * EMF reads the global registries without locking. Loading models through them before the future
+ * completed races with the tasks that are still publishing registrations, so callers that use a
+ * part early have to lock the registries they read, e.g. the package registry, on their monitors.
+ *
+ * All futures provided for parts of the initialization complete exceptionally if the initialization
+ * fails before the part is ready or if the initialization finishes without providing the part.
+ */
+public class InitializationFuture extends CompletableFuture<Void> {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Map<InitializationTask, CompletableFuture<Void>> taskFutures = new IdentityHashMap<>();
+    private final List<Condition> conditions = new ArrayList<>();
+    private boolean finished;
+    private Throwable failure;
+
+    /**
+     * Provides a future that completes as soon as the given task has been executed or skipped
+     * because its identity key already completed.
+     *
+     * @param task
+     *            A task of the initializer.
+     * @return The future of the task.
+     */
+    public synchronized CompletableFuture<Void> whenTaskCompleted(InitializationTask task) {
+        var taskFuture = taskFutures.computeIfAbsent(task, t -> new CompletableFuture<>());
+        if (finished && !taskFuture.isDone()) {
+            taskFuture.completeExceptionally(
+                    notProvided("The task " + task.getDescription() + " has not been executed"));
+        }
+        return taskFuture;
+    }
+
+    /**
+     * Provides a future that completes as soon as platform URIs of the given project can be
+     * resolved.
+     *
+     * @param projectName
+     *            The name of the project.
+     * @return The future of the project registration.
+     */
+    public CompletableFuture<Void> whenProjectRegistered(String projectName) {
+        return addCondition("The project " + projectName + " has not been registered",
+                () -> isProjectRegistered(projectName));
+    }
+
+    /**
+     * Provides a future that completes as soon as a package or a package descriptor is registered
+     * for the given namespace URI in the package registry the initializer registers with.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @return The future of the package registration.
+     */
+    public CompletableFuture<Void> whenPackageRegistered(String nsURI) {
+        return addCondition("The package " + nsURI + " has not been registered", () -> isPackageRegistered(nsURI));
+    }
+
+    /**
+     * Checks if a project is registered. By default, the global platform resource map is checked.
+     *
+     * @param projectName
+     *            The name of the project.
+     * @return True if platform URIs of the project can be resolved.
+     */
+    protected boolean isProjectRegistered(String projectName) {
+        var platformResourceMap = EcorePlugin.getPlatformResourceMap();
+        synchronized (platformResourceMap) {
+            return platformResourceMap.containsKey(projectName);
+        }
+    }
+
+    /**
+     * Checks if a package is registered. By default, the global package registry is checked.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @return True if a package or a package descriptor is registered.
+     */
+    protected boolean isPackageRegistered(String nsURI) {
+        var registry = EPackage.Registry.INSTANCE;
+        synchronized (registry) {
+            return registry.containsKey(nsURI);
+        }
+    }
+
+    private synchronized CompletableFuture<Void> addCondition(String missingMessage, BooleanSupplier check) {
+        var condition = new Condition(missingMessage, check);
+        if (condition.check.getAsBoolean()) {
+            condition.future.complete(null);
+        } else if (finished) {
+            condition.future.completeExceptionally(notProvided(missingMessage));
+        } else {
+            conditions.add(condition);
+        }
+        return condition.future;
+    }
+
+    /**
+     * Reports that a task has been executed or skipped because its identity key already completed.
+     * Called by the initializer.
+     *
+     * @param task
+     *            The completed task.
+     */
+    protected synchronized void taskCompleted(InitializationTask task) {
+        taskFutures.computeIfAbsent(task, t -> new CompletableFuture<>())
+            .complete(null);
+        checkConditions();
+    }
+
+    /**
+     * Reports that a task failed. Called by the initializer.
+     *
+     * @param task
+     *            The failed task.
+     * @param failure
+     *            The exception thrown by the task.
+     */
+    protected synchronized void taskFailed(InitializationTask task, Throwable failure) {
+        taskFutures.computeIfAbsent(task, t -> new CompletableFuture<>())
+            .completeExceptionally(failure);
+    }
+
+    private void checkConditions() {
+        var iterator = conditions.iterator();
+        while (iterator.hasNext()) {
+            var condition = iterator.next();
+            if (condition.check.getAsBoolean()) {
+                condition.future.complete(null);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Reports the end of the initialization. Completes this future and all futures of parts that
+     * have not been provided. Called by the initializer.
+     *
+     * @param failure
+     *            The exception that ended the initialization or null if it succeeded.
+     */
+    protected void initializationFinished(Throwable failure) {
+        synchronized (this) {
+            this.finished = true;
+            this.failure = failure;
+            checkConditions();
+            for (Condition condition : conditions) {
+                condition.future.completeExceptionally(notProvided(condition.missingMessage));
+            }
+            conditions.clear();
+            for (var taskFuture : taskFutures.entrySet()) {
+                if (!taskFuture.getValue()
+                    .isDone()) {
+                    taskFuture.getValue()
+                        .completeExceptionally(notProvided("The task " + taskFuture.getKey()
+                            .getDescription() + " has not been executed"));
+                }
+            }
+        }
+        if (failure == null) {
+            complete(null);
+        } else {
+            completeExceptionally(failure);
+        }
+    }
+
+    private Throwable notProvided(String message) {
+        if (failure != null) {
+            return new StandaloneInitializationException(message + " because the initialization failed.", failure);
+        }
+        return new StandaloneInitializationException(message + " by the initialization.");
+    }
+
+    /**
+     * Creates the executor used by {@link StandaloneInitializer#initAsync()}. It runs every
+     * initialization on a new daemon thread, so the initialization does not occupy a thread of a
+     * shared pool while it waits for parallel tasks.
+     *
+     * @return The executor.
+     */
+    static Executor newThreadExecutor() {
+        return runnable -> {
+            var thread = new Thread(runnable, "standalone-initialization-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    /**
+     * A part of the initialization that is checked against the registries.
+     */
+    private static class Condition {
+        private final String missingMessage;
+        private final BooleanSupplier check;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Condition(String missingMessage, BooleanSupplier check) {
+            this.missingMessage = missingMessage;
+            this.check = check;
+        }
+    }
+
+}
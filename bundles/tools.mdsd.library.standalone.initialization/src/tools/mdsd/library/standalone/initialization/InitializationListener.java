@@ -0,0 +1,91 @@
+package tools.mdsd.library.standalone.initialization;
+
+import java.time.Duration;
+
+/**
+ * Listener that is notified about the progress of a standalone initialization.
+ *
+ * Register listeners via
+ * {@link StandaloneInitializerBuilder#addInitializationListener(InitializationListener)}. During
+ * parallel execution, the task notifications are delivered concurrently on the threads executing
+ * the tasks, so implementations have to be thread-safe.
+ *
+ * All listeners are notified even if a previous listener threw an exception. Exceptions thrown by
+ * a listener are reported as failures of the affected task via
+ * {@link #taskFailed(InitializationTask, Duration, Throwable)} and abort the initialization. If a
+ * listener fails when a task finished, the registrations of the task have already been published
+ * and stay in place. Exceptions thrown by {@link #initializationFinished(Duration, Throwable)} fail
+ * the initialization or are attached to the failure that aborted it.
+ */
+public interface InitializationListener {
+
+    /**
+     * Called before the first task is started.
+     *
+     * @param taskCount
+     *            The number of tasks to be executed.
+     */
+    default void initializationStarted(int taskCount) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called after the last task finished or the initialization has been aborted.
+     *
+     * @param elapsed
+     *            The time spent for the whole initialization.
+     * @param failure
+     *            The error that aborted the initialization or null if it succeeded.
+     */
+    default void initializationFinished(Duration elapsed, Throwable failure) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called immediately before a task is executed.
+     *
+     * @param task
+     *            The task. Use {@link InitializationTask#getDescription()} to describe it.
+     */
+    default void taskStarted(InitializationTask task) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called after a task completed successfully.
+     *
+     * @param task
+     *            The task.
+     * @param elapsed
+     *            The time spent executing the task.
+     */
+    default void taskFinished(InitializationTask task, Duration elapsed) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called instead of {@link #taskStarted(InitializationTask)} if a task is skipped because a task
+     * with the same identity key already completed in this process.
+     *
+     * @param task
+     *            The skipped task.
+     */
+    default void taskSkipped(InitializationTask task) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called after a task failed.
+     *
+     * @param task
+     *            The task.
+     * @param elapsed
+     *            The time spent executing the task until it failed.
+     * @param failure
+     *            The error raised by the task.
+     */
+    default void taskFailed(InitializationTask task, Duration elapsed, Throwable failure) {
+        // nothing to do by default
+    }
+
+}
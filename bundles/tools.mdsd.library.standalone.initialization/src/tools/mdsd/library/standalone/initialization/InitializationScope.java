@@ -0,0 +1,84 @@
+package tools.mdsd.library.standalone.initialization;
+
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import tools.mdsd.library.standalone.initialization.impl.ScopedRegistryTarget;
+
+/**
+ * Isolated registries for initializations that must not share the global EMF registries, e.g. the
+ * initializations of different tenants of a server.
+ *
+ * Initializers built with {@link StandaloneInitializerBuilder#useScope(InitializationScope)}
+ * register projects, URI mappings, packages and resource factories with the scope instead of the
+ * global registries. Use {@link #createResourceSet()} to load models with these registrations.
+ * Different scopes may register projects with the same name at different locations and packages
+ * with the same namespace URI.
+ *
+ * The registries of a scope fall back to the global registries, so registrations of the ecore
+ * classpath detection, which always writes to the global registries, and of generated packages are
+ * shared by all scopes. Tasks of scoped initializers are not skipped if their identity key
+ * completed before, because completed keys are tracked for the global registries only.
+ */
+public final class InitializationScope {
+
+    private final ScopedRegistryTarget target = new ScopedRegistryTarget();
+
+    /**
+     * Creates a resource set that resolves platform URIs, packages and resource factories by the
+     * registrations of this scope. Registrations added to the resource set itself do not affect the
+     * scope.
+     *
+     * @return The new resource set.
+     */
+    public ResourceSet createResourceSet() {
+        return target.createResourceSet();
+    }
+
+    /**
+     * Provides the package registry of the scope. It falls back to the global package registry.
+     *
+     * @return The package registry.
+     */
+    public EPackage.Registry getPackageRegistry() {
+        return target.getPackageRegistry();
+    }
+
+    /**
+     * Provides the resource factory registry of the scope. It falls back to the global resource
+     * factory registry.
+     *
+     * @return The resource factory registry.
+     */
+    public Resource.Factory.Registry getResourceFactoryRegistry() {
+        return target.getResourceFactoryRegistry();
+    }
+
+    /**
+     * Provides the URI map of the scope including the mappings of the registered projects. It falls
+     * back to the global URI mappings.
+     *
+     * @return The URI map.
+     */
+    public Map<URI, URI> getURIMap() {
+        return target.getURIMap();
+    }
+
+    /**
+     * Provides the locations of the projects registered with the scope.
+     *
+     * @return A copy of the locations by project name.
+     */
+    public Map<String, URI> getPlatformResources() {
+        return target.getPlatformResources();
+    }
+
+    ScopedRegistryTarget getRegistryTarget() {
+        return target;
+    }
+
+}
@@ -0,0 +1,60 @@
+package tools.mdsd.library.standalone.initialization;
+
+import java.util.Set;
+
+import tools.mdsd.library.standalone.initialization.impl.CompletedTaskRegistry;
+
+/**
+ * Process-wide state of the standalone initialization.
+ *
+ * Tasks that provide an {@link InitializationTask#getIdentityKey() identity key} are executed only
+ * once per process: initializers skip tasks whose key already completed, so repeated
+ * initializations and initializers of independent libraries do not register the same elements
+ * again. Use {@link StandaloneInitializerBuilder#forceRefresh(boolean)} to execute the tasks of an
+ * initializer anyway, or forget completed keys with the methods of this class, e.g. after the EMF
+ * registries have been reset.
+ */
+public final class InitializationState {
+
+    private InitializationState() {
+        // utility class
+    }
+
+    /**
+     * Determines if a task with the given key completed in this process.
+     *
+     * @param identityKey
+     *            The identity key of the task.
+     * @return True if the task completed successfully.
+     */
+    public static boolean isCompleted(String identityKey) {
+        return CompletedTaskRegistry.isCompleted(identityKey);
+    }
+
+    /**
+     * Provides the keys of all tasks that completed in this process.
+     *
+     * @return An unmodifiable snapshot of the keys.
+     */
+    public static Set<String> getCompletedKeys() {
+        return CompletedTaskRegistry.getCompletedKeys();
+    }
+
+    /**
+     * Forgets that a task completed, so the next initializer executes it again.
+     *
+     * @param identityKey
+     *            The identity key of the task.
+     */
+    public static void forget(String identityKey) {
+        CompletedTaskRegistry.forget(identityKey);
+    }
+
+    /**
+     * Forgets all completed tasks, so the next initializers execute all of their tasks again.
+     */
+    public static void reset() {
+        CompletedTaskRegistry.clear();
+    }
+
+}
@@ -1,5 +1,7 @@
 package tools.mdsd.library.standalone.initialization;
 
+import java.util.Optional;
+
 import org.eclipse.core.runtime.Platform;
 
 /**
@@ -20,6 +22,28 @@ public interface InitializationTask {
         return Platform.isRunning();
     }
 
+    /**
+     * Describes the task in timing reports, listener notifications and profiling events.
+     *
+     * @return A short human readable description. The default is the name of the task class.
+     */
+    default String getDescription() {
+        return getClass().getName();
+    }
+
+    /**
+     * Identifies the effect of the task on the global registries. Tasks with equal keys are
+     * considered interchangeable: an initializer executes only the first of them, and a task whose
+     * key already completed in the running process is skipped unless a refresh is forced, see
+     * {@link InitializationState}.
+     *
+     * @return The key, e.g. the project name and location of a project registration, or an empty
+     *         optional if the task has to be executed every time. The default is an empty optional.
+     */
+    default Optional<String> getIdentityKey() {
+        return Optional.empty();
+    }
+
     /**
      * Performs the initialization. Depending on the availability of the Eclipse platform, specific
      * initialization code is executed.
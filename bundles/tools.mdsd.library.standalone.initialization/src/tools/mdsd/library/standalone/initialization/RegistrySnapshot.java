@@ -0,0 +1,168 @@
+package tools.mdsd.library.standalone.initialization;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.URIMappingRegistryImpl;
+
+import tools.mdsd.library.standalone.initialization.impl.CompletedTaskRegistry;
+
+/**
+ * Immutable copy of the global EMF registries filled by the standalone initialization.
+ *
+ * A snapshot covers the platform resource map, the URI mappings, the package registry together with
+ * the locations of generated and dynamic packages, the resource factory registry and the keys of
+ * the completed initialization tasks, see {@link InitializationState}. Restoring a snapshot
+ * replaces the contents of these registries, which only takes the time of copying the map entries.
+ * The registered objects themselves, e.g. loaded packages, are shared and not copied.
+ *
+ * The first initialization of the process records a baseline of the registries before its first
+ * task, so the registries can be reset to the state before the initialization, e.g. to isolate
+ * tests. Snapshots must not be captured or restored while an initialization is running.
+ */
+public final class RegistrySnapshot {
+
+    private static final AtomicReference<RegistrySnapshot> BASELINE = new AtomicReference<>();
+
+    private final Map<String, URI> platformResources;
+    private final Map<URI, URI> uriMappings;
+    private final Map<String, Object> packages;
+    private final Map<String, URI> genModelLocations;
+    private final Map<String, URI> dynamicPackageLocations;
+    private final Map<String, Object> extensionFactories;
+    private final Map<String, Object> protocolFactories;
+    private final Map<String, Object> contentTypeFactories;
+    private final Set<String> completedTaskKeys;
+
+    private RegistrySnapshot() {
+        this.platformResources = copy(EcorePlugin.getPlatformResourceMap());
+        this.uriMappings = copy(URIMappingRegistryImpl.INSTANCE.map(), URIMappingRegistryImpl.INSTANCE);
+        this.packages = copy(EPackageRegistryImpl.INSTANCE);
+        this.genModelLocations = copy(EcorePlugin.getEPackageNsURIToGenModelLocationMap(false));
+        this.dynamicPackageLocations = copy(EcorePlugin.getEPackageNsURIToDynamicModelLocationMap(false));
+        var factoryRegistry = Resource.Factory.Registry.INSTANCE;
+        synchronized (factoryRegistry) {
+            this.extensionFactories = copy(factoryRegistry.getExtensionToFactoryMap());
+            this.protocolFactories = copy(factoryRegistry.getProtocolToFactoryMap());
+            this.contentTypeFactories = copy(factoryRegistry.getContentTypeToFactoryMap());
+        }
+        this.completedTaskKeys = Set.copyOf(CompletedTaskRegistry.getCompletedKeys());
+    }
+
+    /**
+     * Captures the current state of the registries.
+     *
+     * @return The snapshot.
+     */
+    public static RegistrySnapshot capture() {
+        return new RegistrySnapshot();
+    }
+
+    /**
+     * Captures the baseline of the registries unless it has already been captured. Initializers
+     * call this method before executing their first task.
+     */
+    public static void captureBaseline() {
+        if (BASELINE.get() == null) {
+            BASELINE.compareAndSet(null, capture());
+        }
+    }
+
+    /**
+     * Provides the state of the registries before the first initialization of the process.
+     *
+     * @return The baseline or an empty optional if no initialization has been started yet.
+     */
+    public static Optional<RegistrySnapshot> getBaseline() {
+        return Optional.ofNullable(BASELINE.get());
+    }
+
+    /**
+     * Resets the registries to the state before the first initialization of the process. Nothing
+     * is changed if no initialization has been started yet.
+     *
+     * @return True if the baseline has been restored, false if there is no baseline.
+     */
+    public static boolean restoreBaseline() {
+        var baseline = BASELINE.get();
+        if (baseline == null) {
+            return false;
+        }
+        baseline.restore();
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the registries by the contents of this snapshot.
+     */
+    public void restore() {
+        replace(EcorePlugin.getPlatformResourceMap(), platformResources, EcorePlugin.getPlatformResourceMap());
+        replace(URIMappingRegistryImpl.INSTANCE.map(), uriMappings, URIMappingRegistryImpl.INSTANCE);
+        replace(EPackageRegistryImpl.INSTANCE, packages, EPackageRegistryImpl.INSTANCE);
+        var genModelMap = EcorePlugin.getEPackageNsURIToGenModelLocationMap(false);
+        replace(genModelMap, genModelLocations, genModelMap);
+        var dynamicModelMap = EcorePlugin.getEPackageNsURIToDynamicModelLocationMap(false);
+        replace(dynamicModelMap, dynamicPackageLocations, dynamicModelMap);
+        var factoryRegistry = Resource.Factory.Registry.INSTANCE;
+        synchronized (factoryRegistry) {
+            replace(factoryRegistry.getExtensionToFactoryMap(), extensionFactories, factoryRegistry);
+            replace(factoryRegistry.getProtocolToFactoryMap(), protocolFactories, factoryRegistry);
+            replace(factoryRegistry.getContentTypeToFactoryMap(), contentTypeFactories, factoryRegistry);
+        }
+        CompletedTaskRegistry.replaceCompletedKeys(completedTaskKeys);
+    }
+
+    /**
+     * @return The keys of the initialization tasks that completed when the snapshot was captured.
+     */
+    public Set<String> getCompletedTaskKeys() {
+        return completedTaskKeys;
+    }
+
+    /**
+     * @return The packages and package descriptors by namespace URI.
+     */
+    public Map<String, Object> getPackages() {
+        return packages;
+    }
+
+    /**
+     * @return The locations of the registered projects by project name.
+     */
+    public Map<String, URI> getPlatformResources() {
+        return platformResources;
+    }
+
+    /**
+     * @return The URI mappings, e.g. of platform plugin URIs.
+     */
+    public Map<URI, URI> getUriMappings() {
+        return uriMappings;
+    }
+
+    private static <K, V> Map<K, V> copy(Map<K, V> map) {
+        return copy(map, map);
+    }
+
+    private static <K, V> Map<K, V> copy(Map<K, V> map, Object lock) {
+        synchronized (lock) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        }
+    }
+
+    private static <K, V> void replace(Map<K, V> map, Map<K, V> contents, Object lock) {
+        synchronized (lock) {
+            map.clear();
+            map.putAll(contents);
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package tools.mdsd.library.standalone.initialization;
 
+import java.util.concurrent.Executor;
+
 /**
  * Initializer that carries out standalone initialization when called.
  * 
@@ -15,4 +17,48 @@ public interface StandaloneInitializer {
      */
     void init() throws StandaloneInitializationException;
 
+    /**
+     * Performs the initialization on a new daemon thread and returns immediately.
+     * 
+     * @return A future that completes when the initialization finished and that provides the
+     *         readiness of single tasks, projects and packages.
+     */
+    default InitializationFuture initAsync() {
+        return initAsync(InitializationFuture.newThreadExecutor());
+    }
+
+    /**
+     * Performs the initialization on the given executor and returns immediately. The tasks of a
+     * parallel initializer are still executed by the executor configured in the builder, the given
+     * executor only coordinates them.
+     * 
+     * Implementations that do not report the execution of single tasks to the future complete the
+     * futures of tasks only when the whole initialization finished.
+     * 
+     * @param executor
+     *            The executor to run the initialization on.
+     * @return A future that completes when the initialization finished and that provides the
+     *         readiness of single tasks, projects and packages.
+     */
+    default InitializationFuture initAsync(Executor executor) {
+        var future = new InitializationFuture();
+        try {
+            executor.execute(() -> {
+                Throwable failure = null;
+                try {
+                    init();
+                } catch (StandaloneInitializationException | RuntimeException | Error e) {
+                    failure = e;
+                }
+                future.initializationFinished(failure);
+                if (failure instanceof Error) {
+                    throw (Error) failure;
+                }
+            });
+        } catch (RuntimeException e) {
+            future.initializationFinished(e);
+        }
+        return future;
+    }
+
 }
@@ -1,10 +1,33 @@
 package tools.mdsd.library.standalone.initialization;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+
+import tools.mdsd.library.standalone.initialization.core.ArchiveFileSystemURIHandler;
+import tools.mdsd.library.standalone.initialization.core.FilteredClasspathDetection;
+import tools.mdsd.library.standalone.initialization.core.InitializationManifestRegistrationTask;
+import tools.mdsd.library.standalone.initialization.core.MetaModelBatchRegistrationTask;
+import tools.mdsd.library.standalone.initialization.core.MetaModelCompaction;
 import tools.mdsd.library.standalone.initialization.core.MetaModelRegistrationTask;
+import tools.mdsd.library.standalone.initialization.core.TaskTimingHistory;
 import tools.mdsd.library.standalone.initialization.impl.EcoreClassPathDetection;
+import tools.mdsd.library.standalone.initialization.impl.InitializationObserver;
+import tools.mdsd.library.standalone.initialization.impl.ParallelStandaloneInitializerImpl;
 import tools.mdsd.library.standalone.initialization.impl.ProjectURIByClasspathRegistration;
 import tools.mdsd.library.standalone.initialization.impl.StandaloneInitializerImpl;
 
@@ -14,7 +37,24 @@ import tools.mdsd.library.standalone.initialization.impl.StandaloneInitializerIm
 public class StandaloneInitializerBuilder {
 
     private boolean ecoreClasspathDetection = true;
+    private boolean parallelExecution = false;
+    private Executor executor = ForkJoinPool.commonPool();
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    private Path metaModelCacheDirectory = null;
+    private boolean lazyMetaModelLoading = false;
+    private Path initializationManifest = null;
+    private FilteredClasspathDetection filteredClasspathDetection = null;
+    private boolean forceRefresh = false;
+    private boolean archiveFileSystemCache = false;
+    private InitializationScope scope = null;
+    private TaskTimingHistory timingHistory = null;
+    private MetaModelCompaction metaModelCompaction = null;
     private final List<InitializationTask> initializationTasks = new ArrayList<>();
+    private final List<InitializationListener> initializationListeners = new ArrayList<>();
+    private final Map<InitializationTask, Set<InitializationTask>> taskDependencies = new IdentityHashMap<>();
+    private final Set<InitializationTask> tasksDependingOnClasspathDetection = Collections
+        .newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, List<InitializationTask>> projectRegistrations = new HashMap<>();
 
     private StandaloneInitializerBuilder() {
         // intentionally left blank
@@ -42,6 +82,251 @@ public class StandaloneInitializerBuilder {
         return this;
     }
 
+    /**
+     * Uses the given detection instead of the ecore classpath detection. The detection reads the
+     * classpath in parallel, caches the contents of archives and can be restricted to selected
+     * extension points and bundles. The default is using the ecore classpath detection.
+     * 
+     * The setting only applies while {@link #useEcoreClasspathDetection(boolean)} is enabled and no
+     * initialization manifest is used.
+     * 
+     * @param detection
+     *            The detection to use or null to use the ecore classpath detection again.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useFilteredClasspathDetection(FilteredClasspathDetection detection) {
+        this.filteredClasspathDetection = detection;
+        return this;
+    }
+
+    /**
+     * Replays an initialization manifest instead of detecting ecore extensions on the classpath.
+     * The manifest is created at build time by the
+     * {@link tools.mdsd.library.standalone.initialization.core.InitializationManifestGenerator} and
+     * may also contain the locations of projects. The default is not using a manifest.
+     * 
+     * The manifest takes the place of the ecore classpath detection, so meta models and custom
+     * tasks are executed after the manifest has been replayed. The setting
+     * {@link #useEcoreClasspathDetection(boolean)} is ignored while a manifest is used.
+     * 
+     * @param manifestFile
+     *            The manifest file or null to use the ecore classpath detection again.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useInitializationManifest(Path manifestFile) {
+        this.initializationManifest = manifestFile;
+        return this;
+    }
+
+    /**
+     * Executes the initialization tasks concurrently on the common fork join pool instead of
+     * executing them in sequence. The default is sequential execution.
+     * 
+     * In parallel mode, the order of registration is only respected as far as it is expressed by
+     * dependencies: meta models depend on the registrations of their project, tasks added by
+     * {@link #addCustomTask(InitializationTask)} depend on all previously added tasks and tasks
+     * added by {@link #addCustomTask(InitializationTask, InitializationTask...)} depend on the given
+     * tasks only. The ecore classpath detection is executed before meta models and custom tasks.
+     * 
+     * @param use
+     *            True for parallel execution, false for sequential execution.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useParallelExecution(boolean use) {
+        this.parallelExecution = use;
+        return this;
+    }
+
+    /**
+     * Executes the initialization tasks concurrently on the given executor. See
+     * {@link #useParallelExecution(boolean)} for details about the execution order.
+     * 
+     * @param executor
+     *            The executor to run the tasks on.
+     * @param parallelism
+     *            The maximum number of tasks that run at the same time.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useParallelExecution(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism has to be positive.");
+        }
+        this.parallelExecution = true;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Keeps binary copies of meta models in the given directory. Subsequent runs load the binary
+     * copies as long as the meta models did not change. The default is not using a cache.
+     * 
+     * The cache applies to meta models that are registered after calling this method.
+     * 
+     * @param cacheDirectory
+     *            The directory to store the binary copies in or null to disable the cache.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useMetaModelCache(Path cacheDirectory) {
+        this.metaModelCacheDirectory = cacheDirectory;
+        return this;
+    }
+
+    /**
+     * Registers descriptors for the packages of meta models instead of loading the meta models
+     * immediately. A meta model is loaded when one of its packages is looked up in the package
+     * registry for the first time. The default is loading meta models immediately.
+     * 
+     * The setting applies to meta models that are registered after calling this method.
+     * 
+     * @param use
+     *            True for loading meta models on demand, false otherwise.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useLazyMetaModelLoading(boolean use) {
+        this.lazyMetaModelLoading = use;
+        return this;
+    }
+
+    /**
+     * Reads resources of projects located in jar files through shared, cached zip file systems
+     * instead of opening the jar file for every resource. The default is not using the cache.
+     * 
+     * The cache is installed into the global {@link URIConverter} only. Resource sets of the
+     * application have their own URI converter and do not use the cache unless it is installed into
+     * them by {@link ArchiveFileSystemURIHandler#install(ResourceSet)}.
+     * 
+     * @see ArchiveFileSystemURIHandler
+     * 
+     * @param use
+     *            True for using the cache, false otherwise.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useArchiveFileSystemCache(boolean use) {
+        this.archiveFileSystemCache = use;
+        return this;
+    }
+
+    /**
+     * Records the execution time of every task in the given file and uses the recorded times of
+     * earlier runs to schedule the tasks in parallel mode. The default is not recording.
+     * 
+     * Among the tasks that are ready to run, the tasks heading the longest chain of dependent tasks
+     * are started first, so long tasks and the critical path of the dependencies do not start late
+     * when all threads are busy. Tasks whose execution time changed significantly compared to the
+     * earlier runs are reported to standard error. Use
+     * {@link #useTimingHistory(TaskTimingHistory)} to customize the report. The order of
+     * sequential execution is not changed.
+     * 
+     * @param historyFile
+     *            The file to store the timings in or null to disable the recording.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useTimingHistory(Path historyFile) {
+        return useTimingHistory(historyFile == null ? null : new TaskTimingHistory(historyFile));
+    }
+
+    /**
+     * Records the execution times of the tasks with the given history, see
+     * {@link #useTimingHistory(Path)}.
+     * 
+     * @param history
+     *            The history or null to disable the recording.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useTimingHistory(TaskTimingHistory history) {
+        this.timingHistory = history;
+        return this;
+    }
+
+    /**
+     * Compacts the registered meta models after all other tasks have been executed. The compaction
+     * drops the load state of the meta models, interns their strings and releases the resource sets
+     * the meta models have been loaded into. It only applies to meta models loaded by an
+     * initialization, not to packages that other components registered. The default is not
+     * compacting.
+     * 
+     * The compaction modifies the registered packages. Therefore, the futures returned by
+     * {@link StandaloneInitializer#initAsync()} report packages as registered only after the
+     * compaction. Do not use packages registered by a task whose future completed before.
+     * 
+     * Use {@link #useMetaModelCompaction(MetaModelCompaction)} to get the estimated footprint of
+     * every registered package.
+     * 
+     * @param use
+     *            True for compacting the meta models, false otherwise.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useMetaModelCompaction(boolean use) {
+        return useMetaModelCompaction(use ? new MetaModelCompaction() : null);
+    }
+
+    /**
+     * Compacts the registered meta models with the given compaction after all other tasks have been
+     * executed, see {@link #useMetaModelCompaction(boolean)}. The compaction provides the footprint
+     * of the registered packages after the initialization.
+     * 
+     * @param compaction
+     *            The compaction or null to disable the compaction.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useMetaModelCompaction(MetaModelCompaction compaction) {
+        this.metaModelCompaction = compaction;
+        return this;
+    }
+
+    /**
+     * Registers with the isolated registries of the given scope instead of the global EMF
+     * registries. The default is registering globally.
+     * 
+     * Several initializers can share a scope. The ecore classpath detection still writes to the
+     * global registries, which all scopes fall back to, so it is usually executed by one global
+     * initializer before the scoped initializers are built without it.
+     * 
+     * @param scope
+     *            The scope to register with or null to register globally again.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder useScope(InitializationScope scope) {
+        this.scope = scope;
+        return this;
+    }
+
+    /**
+     * Executes all tasks of the initializer even if tasks with the same identity keys already
+     * completed in this process, e.g. because the registered files changed. The default is skipping
+     * completed tasks, see {@link InitializationState}.
+     * 
+     * Tasks with equal identity keys are executed only once per initializer regardless of this
+     * setting.
+     * 
+     * @param force
+     *            True to execute completed tasks again, false to skip them.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder forceRefresh(boolean force) {
+        this.forceRefresh = force;
+        return this;
+    }
+
+    /**
+     * Adds a listener that is notified about the start and end of the initialization and of every
+     * task, including the time spent. Listeners are notified in the order of registration.
+     * 
+     * Independent of listeners, the initialization emits Java Flight Recorder events for the same
+     * points, so it can be profiled by enabling a recording. Use
+     * {@link tools.mdsd.library.standalone.initialization.core.InitializationSummaryReporter} to get
+     * a report of the slowest tasks.
+     * 
+     * @param listener
+     *            The listener to add.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder addInitializationListener(InitializationListener listener) {
+        initializationListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
     /**
      * Register platform URIs for a project to a location determined by a class of this project.
      * 
@@ -75,6 +360,8 @@ public class StandaloneInitializerBuilder {
         ProjectURIByClasspathRegistration task = new ProjectURIByClasspathRegistration(classOfProject, projectName,
                 rootFolderName);
         initializationTasks.add(task);
+        projectRegistrations.computeIfAbsent(projectName, name -> new ArrayList<>())
+            .add(task);
         return this;
     }
 
@@ -96,10 +383,46 @@ public class StandaloneInitializerBuilder {
      * @return Modified builder instance.
      */
     public StandaloneInitializerBuilder registerMetaModel(String projectName, String relativePath) {
-        initializationTasks.add(new MetaModelRegistrationTask(projectName, relativePath));
+        var task = new MetaModelRegistrationTask(projectName, relativePath, metaModelCacheDirectory,
+                lazyMetaModelLoading);
+        addMetaModelTask(projectName, task);
         return this;
     }
 
+    /**
+     * Register multiple meta models of a project at once.
+     * 
+     * The meta models are parsed in parallel and share one resource set, so references between
+     * them are resolved only once. The same preconditions as for
+     * {@link #registerMetaModel(String, String)} apply. The meta models are always loaded
+     * immediately, regardless of {@link #useLazyMetaModelLoading(boolean)}.
+     * 
+     * @param projectName
+     *            The name of the project.
+     * @param relativePaths
+     *            The paths to the meta model files relative to the project without leading slash.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder registerMetaModels(String projectName, String... relativePaths) {
+        var task = new MetaModelBatchRegistrationTask(projectName, Arrays.asList(relativePaths),
+                metaModelCacheDirectory);
+        addMetaModelTask(projectName, task);
+        return this;
+    }
+
+    private void addMetaModelTask(String projectName, InitializationTask task) {
+        var projectTasks = projectRegistrations.get(projectName);
+        if (projectTasks != null) {
+            // the project is known, so the meta model only has to wait for its registration
+            taskDependencies.put(task, new LinkedHashSet<>(projectTasks));
+        } else {
+            // the project might be registered by any previous task, so keep the order
+            taskDependencies.put(task, new LinkedHashSet<>(initializationTasks));
+        }
+        tasksDependingOnClasspathDetection.add(task);
+        initializationTasks.add(task);
+    }
+
     /**
      * Add a custom initialization task to the builder.
      * 
@@ -108,6 +431,51 @@ public class StandaloneInitializerBuilder {
      * @return Modified builder instance.
      */
     public StandaloneInitializerBuilder addCustomTask(InitializationTask task) {
+        taskDependencies.put(task, new LinkedHashSet<>(initializationTasks));
+        tasksDependingOnClasspathDetection.add(task);
+        initializationTasks.add(task);
+        return this;
+    }
+
+    /**
+     * Add a custom initialization task to the builder that only depends on the given tasks.
+     * 
+     * The dependencies are only relevant for parallel execution, see
+     * {@link #useParallelExecution(boolean)}. In sequential mode, the task is executed in the order
+     * of registration.
+     * 
+     * @param task
+     *            A custom task to execute during initialization.
+     * @param dependencies
+     *            Previously added tasks that have to be executed before the given task.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder addCustomTask(InitializationTask task, InitializationTask... dependencies) {
+        return addCustomTask(task, Arrays.asList(dependencies));
+    }
+
+    /**
+     * Add a custom initialization task to the builder that only depends on the given tasks.
+     * 
+     * @see #addCustomTask(InitializationTask, InitializationTask...)
+     * 
+     * @param task
+     *            A custom task to execute during initialization.
+     * @param dependencies
+     *            Previously added tasks that have to be executed before the given task. An empty
+     *            collection allows the task to run at any time.
+     * @return Modified builder instance.
+     */
+    public StandaloneInitializerBuilder addCustomTask(InitializationTask task,
+            Collection<InitializationTask> dependencies) {
+        for (InitializationTask dependency : dependencies) {
+            if (initializationTasks.stream()
+                .noneMatch(t -> t == dependency)) {
+                throw new IllegalArgumentException(
+                        "The dependency " + dependency + " has to be added to the builder before the task " + task);
+            }
+        }
+        taskDependencies.put(task, new LinkedHashSet<>(dependencies));
         initializationTasks.add(task);
         return this;
     }
@@ -119,11 +487,101 @@ public class StandaloneInitializerBuilder {
      */
     public StandaloneInitializer build() {
         List<InitializationTask> tasks = new ArrayList<>();
-        if (ecoreClasspathDetection) {
-            tasks.add(new EcoreClassPathDetection());
+        InitializationTask handlerInstallation = null;
+        if (archiveFileSystemCache) {
+            handlerInstallation = ArchiveFileSystemURIHandler.installationTask();
+            tasks.add(handlerInstallation);
+        }
+        InitializationTask classpathDetection = null;
+        if (initializationManifest != null) {
+            classpathDetection = new InitializationManifestRegistrationTask(initializationManifest);
+            tasks.add(classpathDetection);
+        } else if (ecoreClasspathDetection && filteredClasspathDetection != null) {
+            classpathDetection = filteredClasspathDetection;
+            tasks.add(classpathDetection);
+        } else if (ecoreClasspathDetection) {
+            classpathDetection = new EcoreClassPathDetection();
+            tasks.add(classpathDetection);
         }
         tasks.addAll(initializationTasks);
-        return new StandaloneInitializerImpl(tasks);
+        var duplicates = removeDuplicates(tasks);
+        if (metaModelCompaction != null) {
+            tasks.add(metaModelCompaction);
+        }
+        List<InitializationListener> listeners = new ArrayList<>(initializationListeners);
+        if (timingHistory != null) {
+            listeners.add(timingHistory);
+        }
+        var observer = (scope == null ? new InitializationObserver(listeners, forceRefresh)
+                : new InitializationObserver(listeners, forceRefresh, scope.getRegistryTarget()))
+            .withPackageBarrier(metaModelCompaction);
+        if (!parallelExecution) {
+            return new StandaloneInitializerImpl(tasks, observer);
+        }
+
+        Map<InitializationTask, Set<InitializationTask>> dependencies = new IdentityHashMap<>();
+        for (InitializationTask task : tasks) {
+            Set<InitializationTask> taskDeps = new LinkedHashSet<>();
+            for (InitializationTask dependency : taskDependencies.getOrDefault(task, Collections.emptySet())) {
+                taskDeps.addAll(replaceDuplicate(dependency, duplicates));
+            }
+            if (classpathDetection != null && tasksDependingOnClasspathDetection.contains(task)) {
+                taskDeps.add(classpathDetection);
+            }
+            if (task == metaModelCompaction) {
+                // the compaction covers the packages registered by all other tasks
+                taskDeps.addAll(tasks);
+                taskDeps.remove(task);
+            }
+            if (handlerInstallation != null && task != handlerInstallation) {
+                // the installation is cheap, so let all resources be read through the handler
+                taskDeps.add(handlerInstallation);
+            }
+            dependencies.put(task, taskDeps);
+        }
+        return new ParallelStandaloneInitializerImpl(tasks, dependencies, executor, parallelism, observer,
+                timingHistory == null ? null : timingHistory::estimateNanos);
+    }
+
+    /**
+     * Removes tasks whose identity key equals the key of a previous task.
+     * 
+     * @param tasks
+     *            The tasks in the order of execution. Duplicates are removed from the list.
+     * @return The removed tasks mapped to the retained task with the same key.
+     */
+    private static Map<InitializationTask, InitializationTask> removeDuplicates(List<InitializationTask> tasks) {
+        Map<String, InitializationTask> tasksByKey = new HashMap<>();
+        Map<InitializationTask, InitializationTask> duplicates = new IdentityHashMap<>();
+        for (InitializationTask task : tasks) {
+            task.getIdentityKey()
+                .ifPresent(key -> {
+                    var retained = tasksByKey.putIfAbsent(key, task);
+                    if (retained != null && retained != task) {
+                        duplicates.put(task, retained);
+                    }
+                });
+        }
+        tasks.removeIf(duplicates::containsKey);
+        return duplicates;
+    }
+
+    /**
+     * Determines the tasks replacing a dependency. A removed duplicate is replaced by the retained
+     * task and by its own dependencies, so the order of the registration is kept.
+     */
+    private Set<InitializationTask> replaceDuplicate(InitializationTask dependency,
+            Map<InitializationTask, InitializationTask> duplicates) {
+        var retained = duplicates.get(dependency);
+        if (retained == null) {
+            return Collections.singleton(dependency);
+        }
+        Set<InitializationTask> replacements = new LinkedHashSet<>();
+        replacements.add(retained);
+        for (InitializationTask transitive : taskDependencies.getOrDefault(dependency, Collections.emptySet())) {
+            replacements.addAll(replaceDuplicate(transitive, duplicates));
+        }
+        return replacements;
     }
 
 }
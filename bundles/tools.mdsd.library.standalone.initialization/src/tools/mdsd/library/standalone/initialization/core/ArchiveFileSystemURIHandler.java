@@ -0,0 +1,362 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.URIHandler;
+import org.eclipse.emf.ecore.resource.impl.ArchiveURIHandlerImpl;
+import org.eclipse.emf.ecore.resource.impl.URIHandlerImpl;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.impl.RegisteredArchives;
+
+/**
+ * Reads entries of jar-packaged projects through shared zip file systems instead of opening the
+ * archive for every resource.
+ *
+ * The handler only handles archive URIs of local archives that have been registered, e.g. by the
+ * registration of a project located in a jar. The zip file system of an archive indexes the entries
+ * of the archive when it is opened, so entries are read by direct lookup afterwards. At most a
+ * bounded number of archives is kept open; the least recently used archive is closed as soon as no
+ * stream of it is open anymore. Archives that changed on disk are opened again. Opening an archive
+ * only blocks concurrent readers of the same archive. Writing to archives is delegated to the
+ * default archive handling of EMF.
+ *
+ * The shared handler is installed into {@link URIConverter#INSTANCE} by the initializer if this is
+ * enabled in the builder. Resource sets use their own URI converter, so use
+ * {@link #install(ResourceSet)} to read registered archives through the handler in a resource set.
+ * The resource sets used by the initialization tasks install the handler if it is installed
+ * globally.
+ */
+public class ArchiveFileSystemURIHandler extends URIHandlerImpl {
+
+    /**
+     * The number of archives kept open by default.
+     */
+    public static final int DEFAULT_MAX_OPEN_ARCHIVES = 64;
+
+    private static final ArchiveFileSystemURIHandler INSTANCE = new ArchiveFileSystemURIHandler(
+            DEFAULT_MAX_OPEN_ARCHIVES);
+
+    private final int maxOpenArchives;
+    private final Map<Path, OpenArchive> openArchives = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, Object> openingLocks = new ConcurrentHashMap<>();
+    private final URIHandler fallback = new ArchiveURIHandlerImpl();
+
+    /**
+     * Constructs a handler. Usually, the shared instance returned by {@link #getInstance()} is
+     * used.
+     *
+     * @param maxOpenArchives
+     *            The maximum number of archives kept open while they are not read.
+     */
+    public ArchiveFileSystemURIHandler(int maxOpenArchives) {
+        if (maxOpenArchives < 1) {
+            throw new IllegalArgumentException("At least one archive has to be kept open.");
+        }
+        this.maxOpenArchives = maxOpenArchives;
+    }
+
+    /**
+     * @return The shared handler that is installed by the initializer.
+     */
+    public static ArchiveFileSystemURIHandler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a task that installs the shared handler into {@link URIConverter#INSTANCE}.
+     *
+     * @return The task.
+     */
+    public static InitializationTask installationTask() {
+        return new InitializationTask() {
+            @Override
+            public void initilizationWithoutPlatform() {
+                install(URIConverter.INSTANCE);
+            }
+
+            @Override
+            public String getDescription() {
+                return "Installation of the archive file system URI handler";
+            }
+        };
+    }
+
+    /**
+     * Installs the shared handler into the URI converter of the given resource set unless it is
+     * already installed.
+     *
+     * @param resourceSet
+     *            The resource set.
+     */
+    public static void install(ResourceSet resourceSet) {
+        install(resourceSet.getURIConverter());
+    }
+
+    /**
+     * Installs the shared handler into the given URI converter unless it is already installed. The
+     * handler is added in front of the other handlers, so it takes precedence over the default
+     * archive handling.
+     *
+     * @param uriConverter
+     *            The URI converter.
+     */
+    public static void install(URIConverter uriConverter) {
+        var handlers = uriConverter.getURIHandlers();
+        synchronized (handlers) {
+            if (!handlers.contains(INSTANCE)) {
+                handlers.add(0, INSTANCE);
+            }
+        }
+        if (uriConverter == URIConverter.INSTANCE) {
+            RegisteredArchives.setGlobalHandler(INSTANCE);
+        }
+    }
+
+    /**
+     * Indicates if the shared handler has been installed into {@link URIConverter#INSTANCE}.
+     *
+     * @return True if it is installed.
+     */
+    public static boolean isInstalled() {
+        var handlers = URIConverter.INSTANCE.getURIHandlers();
+        synchronized (handlers) {
+            return handlers.contains(INSTANCE);
+        }
+    }
+
+    /**
+     * Registers the archive referenced by the given URI, so entries of it are read by the handler.
+     * Projects located in archives are registered automatically.
+     *
+     * @param uri
+     *            An archive URI such as "jar:file:/path/project.jar!/". Other URIs are ignored.
+     * @return True if the URI references a local archive that has been registered.
+     */
+    public static boolean registerArchive(URI uri) {
+        return RegisteredArchives.register(uri);
+    }
+
+    /**
+     * Closes all archives that are currently not read. Archives with open streams are closed as
+     * soon as their last stream is closed.
+     */
+    public void closeArchives() {
+        synchronized (this) {
+            for (OpenArchive archive : openArchives.values()) {
+                archive.evict();
+            }
+            openArchives.clear();
+        }
+    }
+
+    @Override
+    public boolean canHandle(URI uri) {
+        return RegisteredArchives.getRegisteredArchive(uri) != null;
+    }
+
+    @Override
+    public InputStream createInputStream(URI uri, Map<?, ?> options) throws IOException {
+        var archive = acquire(RegisteredArchives.toArchivePath(uri));
+        try {
+            var in = Files.newInputStream(archive.getEntry(uri));
+            return new FilterInputStream(in) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (!closed) {
+                            closed = true;
+                            release(archive);
+                        }
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            release(archive);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean exists(URI uri, Map<?, ?> options) {
+        try {
+            var archive = acquire(RegisteredArchives.toArchivePath(uri));
+            try {
+                return Files.exists(archive.getEntry(uri));
+            } finally {
+                release(archive);
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Map<String, ?> getAttributes(URI uri, Map<?, ?> options) {
+        Map<String, Object> result = new HashMap<>();
+        BasicFileAttributes attributes;
+        try {
+            var archive = acquire(RegisteredArchives.toArchivePath(uri));
+            try {
+                attributes = Files.readAttributes(archive.getEntry(uri), BasicFileAttributes.class);
+            } finally {
+                release(archive);
+            }
+        } catch (IOException e) {
+            return result;
+        }
+        var requestedAttributes = getRequestedAttributes(options);
+        if (requestedAttributes == null || requestedAttributes.contains(URIConverter.ATTRIBUTE_TIME_STAMP)) {
+            result.put(URIConverter.ATTRIBUTE_TIME_STAMP, attributes.lastModifiedTime()
+                .toMillis());
+        }
+        if (requestedAttributes == null || requestedAttributes.contains(URIConverter.ATTRIBUTE_LENGTH)) {
+            result.put(URIConverter.ATTRIBUTE_LENGTH, attributes.size());
+        }
+        if (requestedAttributes == null || requestedAttributes.contains(URIConverter.ATTRIBUTE_READ_ONLY)) {
+            result.put(URIConverter.ATTRIBUTE_READ_ONLY, true);
+        }
+        if (requestedAttributes == null || requestedAttributes.contains(URIConverter.ATTRIBUTE_DIRECTORY)) {
+            result.put(URIConverter.ATTRIBUTE_DIRECTORY, attributes.isDirectory());
+        }
+        return result;
+    }
+
+    @Override
+    public OutputStream createOutputStream(URI uri, Map<?, ?> options) throws IOException {
+        invalidate(RegisteredArchives.toArchivePath(uri));
+        return fallback.createOutputStream(uri, options);
+    }
+
+    @Override
+    public void delete(URI uri, Map<?, ?> options) throws IOException {
+        invalidate(RegisteredArchives.toArchivePath(uri));
+        fallback.delete(uri, options);
+    }
+
+    @Override
+    public void setAttributes(URI uri, Map<String, ?> attributes, Map<?, ?> options) throws IOException {
+        invalidate(RegisteredArchives.toArchivePath(uri));
+        fallback.setAttributes(uri, attributes, options);
+    }
+
+    private OpenArchive acquire(Path path) throws IOException {
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        var lastModified = attributes.lastModifiedTime()
+            .to(TimeUnit.MILLISECONDS);
+        // opening indexes the entries of the archive, so it is done outside of the monitor of the
+        // handler and only once per archive
+        synchronized (openingLocks.computeIfAbsent(path, key -> new Object())) {
+            synchronized (this) {
+                var archive = openArchives.get(path);
+                if (archive != null && archive.matches(lastModified, attributes.size())) {
+                    archive.users++;
+                    return archive;
+                }
+                if (archive != null) {
+                    openArchives.remove(path);
+                    archive.evict();
+                }
+            }
+            var fileSystem = FileSystems.newFileSystem(path, Collections.emptyMap());
+            synchronized (this) {
+                var archive = new OpenArchive(fileSystem, lastModified, attributes.size());
+                openArchives.put(path, archive);
+                evictLeastRecentlyUsed();
+                archive.users++;
+                return archive;
+            }
+        }
+    }
+
+    private synchronized void release(OpenArchive archive) {
+        archive.users--;
+        if (archive.evicted) {
+            archive.closeIfUnused();
+        }
+    }
+
+    private synchronized void invalidate(Path path) {
+        var archive = path == null ? null : openArchives.remove(path);
+        if (archive != null) {
+            archive.evict();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        var iterator = openArchives.values()
+            .iterator();
+        while (openArchives.size() > maxOpenArchives && iterator.hasNext()) {
+            var archive = iterator.next();
+            iterator.remove();
+            archive.evict();
+        }
+    }
+
+    /**
+     * An archive opened as zip file system together with its state on disk.
+     */
+    private static class OpenArchive {
+        private final FileSystem fileSystem;
+        private final long lastModified;
+        private final long size;
+        private int users;
+        private boolean evicted;
+
+        OpenArchive(FileSystem fileSystem, long lastModified, long size) {
+            this.fileSystem = fileSystem;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        boolean matches(long otherLastModified, long otherSize) {
+            return lastModified == otherLastModified && size == otherSize;
+        }
+
+        Path getEntry(URI uri) throws NoSuchFileException {
+            var path = uri.path();
+            if (path == null) {
+                throw new NoSuchFileException(uri.toString());
+            }
+            return fileSystem.getPath(URI.decode(path));
+        }
+
+        void evict() {
+            evicted = true;
+            closeIfUnused();
+        }
+
+        void closeIfUnused() {
+            if (users == 0 && fileSystem.isOpen()) {
+                try {
+                    fileSystem.close();
+                } catch (IOException e) {
+                    // the archive is only read, so there is nothing to lose
+                }
+            }
+        }
+    }
+
+}
@@ -2,10 +2,15 @@ package tools.mdsd.library.standalone.initialization.core;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
@@ -23,7 +28,16 @@ import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationReg
  *
  */
 public class EclipseProjectByClassRegistration implements InitializationTask {
+
+    /**
+     * Project artifacts of directories that have already been checked in ancestor lookup mode. An
+     * empty map denotes a directory that is no project.
+     */
+    private static final Map<Path, Map<String, File>> ANCESTOR_CACHE = new ConcurrentHashMap<>();
+    private static final ProjectTreeWalker ANCESTOR_WALKER = new ProjectTreeWalker(0, List.of(), false);
+
     private final Class<?> clazz;
+    private final boolean ancestorLookup;
 
     /**
      * Creates a new instance of the initialization task.
@@ -33,12 +47,50 @@ public class EclipseProjectByClassRegistration implements InitializationTask {
      *            be located on the file system.
      */
     public EclipseProjectByClassRegistration(Class<?> clazz) {
+        this(clazz, false);
+    }
+
+    /**
+     * Creates a new instance of the initialization task.
+     * 
+     * In ancestor lookup mode, only the folders enclosing the class are checked for project
+     * artifacts instead of also scanning their subfolders. Every folder is checked only once and
+     * the result is shared by all instances of this task until {@link #clearAncestorCache()} is
+     * called.
+     * 
+     * @param clazz
+     *            the class which is used to look up the enclosing project. Therefore, it needs to
+     *            be located on the file system.
+     * @param ancestorLookup
+     *            true for the ancestor lookup mode, false for scanning every enclosing folder.
+     */
+    public EclipseProjectByClassRegistration(Class<?> clazz, boolean ancestorLookup) {
         this.clazz = clazz;
+        this.ancestorLookup = ancestorLookup;
+    }
+
+    /**
+     * Forgets the results of previous lookups in ancestor lookup mode, e.g. because projects have
+     * been moved.
+     */
+    public static void clearAncestorCache() {
+        ANCESTOR_CACHE.clear();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Project registration by class " + clazz.getName();
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return Optional.of("project-by-class:" + clazz.getName() + ";ancestors=" + ancestorLookup);
     }
 
     @Override
     public void initilizationWithoutPlatform() throws StandaloneInitializationException {
-        for (var project : tryFindProjectContaining(clazz).entrySet()) {
+        var projects = ancestorLookup ? tryFindProjectEnclosing(clazz) : tryFindProjectContaining(clazz);
+        for (var project : projects.entrySet()) {
             (new ProjectURIByLocationRegistration(project.getValue(), project.getKey())).init();
         }
     }
@@ -46,10 +98,7 @@ public class EclipseProjectByClassRegistration implements InitializationTask {
     protected static Map<String, File> tryFindProjectContaining(Class<?> clz) throws StandaloneInitializationException {
         Map<String, File> result = Collections.emptyMap();
         try {
-            var classLocation = Paths.get(clz.getProtectionDomain()
-                .getCodeSource()
-                .getLocation()
-                .toURI());
+            var classLocation = getClassLocation(clz);
             while (classLocation != null && result.isEmpty()) {
                 result = EclipseProjectScanner.findProjects(classLocation);
                 classLocation = classLocation.getParent();
@@ -64,4 +113,51 @@ public class EclipseProjectByClassRegistration implements InitializationTask {
         }
         return result;
     }
+
+    /**
+     * Finds the nearest folder enclosing the class that holds a project artifact. Results are
+     * cached per folder.
+     * 
+     * @param clz
+     *            The class to find the project for.
+     * @return The project artifacts of the nearest enclosing project folder.
+     * @throws StandaloneInitializationException
+     *             In case no enclosing project could be found.
+     */
+    protected static Map<String, File> tryFindProjectEnclosing(Class<?> clz) throws StandaloneInitializationException {
+        Map<String, File> result = Collections.emptyMap();
+        try {
+            var location = getClassLocation(clz).toAbsolutePath()
+                .normalize();
+            while (location != null && result.isEmpty()) {
+                result = ANCESTOR_CACHE.computeIfAbsent(location, EclipseProjectByClassRegistration::findProjectAt);
+                location = location.getParent();
+            }
+        } catch (URISyntaxException e) {
+            throw new StandaloneInitializationException("Error locating the class in the file system", e);
+        } catch (UncheckedIOException e) {
+            throw new StandaloneInitializationException("Error locating the class in the file system", e.getCause());
+        }
+
+        if (result.isEmpty()) {
+            throw new StandaloneInitializationException(
+                    "Error locating a eclipse project artifact in the file system hierarchy");
+        }
+        return result;
+    }
+
+    private static Map<String, File> findProjectAt(Path directory) {
+        try {
+            return Collections.unmodifiableMap(ANCESTOR_WALKER.findProjects(directory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path getClassLocation(Class<?> clz) throws URISyntaxException {
+        return Paths.get(clz.getProtectionDomain()
+            .getCodeSource()
+            .getLocation()
+            .toURI());
+    }
 }
@@ -2,24 +2,20 @@ package tools.mdsd.library.standalone.initialization.core;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
-import java.util.stream.Collectors;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.xml.sax.SAXException;
+import java.util.Optional;
 
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializerBuilder;
+import tools.mdsd.library.standalone.initialization.impl.ProjectMetadataReader;
 import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
 
 /**
@@ -30,6 +26,11 @@ import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationReg
  * ("META-INF/MANIFEST.MF"). It should be added to a Standalone Initialization sequence through
  * {@link StandaloneInitializerBuilder#addCustomTask(InitializationTask)}.
  * 
+ * The folder is walked once and independent subtrees are walked in parallel. Use
+ * {@link #builder(Path)} to configure the depth of the walk, the folders to exclude, pruning of
+ * nested projects and a persistent index of the found projects. In watch mode, a
+ * {@link ProjectWatcher} keeps the registrations up to date after the scan.
+ * 
  * @author Sebastian Krach
  *
  */
@@ -37,8 +38,18 @@ public class EclipseProjectScanner implements InitializationTask {
 
     public static final int DEFAULT_MAX_DEPTH = 3;
     public static final String PROJECT_FILE_NAME = ".project";
+    /**
+     * Names of folders that are not scanned by default: version control metadata and build output.
+     */
+    public static final List<String> DEFAULT_EXCLUDE_PATTERNS = List.of(".git", ".svn", ".hg", "target", "bin");
 
     private final Path basePath;
+    private final Optional<Path> indexFile;
+    private final int maxDepth;
+    private final List<String> excludePatterns;
+    private final boolean pruneProjects;
+    private final Duration watchDebounce;
+    private volatile ProjectWatcher watcher;
 
     /**
      * Creates a new Instance of the Eclipse Project Scanner Task.
@@ -48,14 +59,122 @@ public class EclipseProjectScanner implements InitializationTask {
      *            Jar-Manifests.
      */
     public EclipseProjectScanner(Path basePath) {
+        this(basePath, null);
+    }
+
+    /**
+     * Creates a new Instance of the Eclipse Project Scanner Task that keeps an index of the found
+     * projects in the given file.
+     * 
+     * The index is validated by the modification times of the scanned directories and project
+     * artifacts. Only subtrees that changed since the index has been written are scanned again.
+     * 
+     * @param basePath
+     *            the path within which the scanner will look for Eclipse project files or
+     *            Jar-Manifests.
+     * @param indexFile
+     *            the file to store the project index in. It is created if it does not exist.
+     */
+    public EclipseProjectScanner(Path basePath, Path indexFile) {
+        this(basePath, indexFile, DEFAULT_MAX_DEPTH, DEFAULT_EXCLUDE_PATTERNS, false, null);
+    }
+
+    private EclipseProjectScanner(Path basePath, Path indexFile, int maxDepth, List<String> excludePatterns,
+            boolean pruneProjects, Duration watchDebounce) {
         this.basePath = basePath;
+        this.indexFile = Optional.ofNullable(indexFile);
+        this.maxDepth = maxDepth;
+        this.excludePatterns = List.copyOf(excludePatterns);
+        this.pruneProjects = pruneProjects;
+        this.watchDebounce = watchDebounce;
+    }
+
+    /**
+     * Creates a builder for a scanner with a custom configuration.
+     * 
+     * @param basePath
+     *            the path within which the scanner will look for Eclipse project files or
+     *            Jar-Manifests.
+     * @return A new builder.
+     */
+    public static Builder builder(Path basePath) {
+        return new Builder(basePath);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Project scan of " + basePath;
+    }
+
+    /**
+     * Provides the watcher started by the last execution of a scanner in watch mode.
+     * 
+     * @return The watcher or an empty optional if the scanner does not watch or has not been
+     *         executed yet.
+     */
+    public Optional<ProjectWatcher> getWatcher() {
+        return Optional.ofNullable(watcher);
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        if (watchDebounce != null) {
+            // a watching scanner is always executed, so it always starts its watcher
+            return Optional.empty();
+        }
+        return Optional.of("project-scan:" + basePath.toAbsolutePath()
+            .normalize() + ";" + describeConfiguration());
     }
 
     @Override
     public void initilizationWithoutPlatform() throws StandaloneInitializationException {
+        var newWatcher = startWatching();
+        try {
+            var projects = scan();
+            if (newWatcher != null) {
+                newWatcher.start(projects);
+            }
+        } catch (StandaloneInitializationException | RuntimeException e) {
+            stopWatching(newWatcher);
+            throw e;
+        }
+    }
+
+    private ProjectWatcher startWatching() throws StandaloneInitializationException {
+        stopWatching(watcher);
+        watcher = null;
+        if (watchDebounce == null) {
+            return null;
+        }
+        try {
+            // the directories are watched before the scan, so no change in between is missed
+            watcher = new ProjectWatcher(basePath, maxDepth, excludePatterns, pruneProjects, watchDebounce);
+            return watcher;
+        } catch (IOException e) {
+            throw new StandaloneInitializationException("Could not watch " + basePath, e);
+        }
+    }
+
+    private static void stopWatching(ProjectWatcher watcher) {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                // the watcher does not receive events anymore
+            }
+        }
+    }
+
+    private Map<String, File> scan() throws StandaloneInitializationException {
         Map<String, File> projects = Collections.emptyMap();
         try {
-            projects = findProjects(basePath);
+            var walker = new ProjectTreeWalker(maxDepth, excludePatterns, pruneProjects);
+            if (indexFile.isPresent()) {
+                projects = ProjectLocationIndex.findProjects(basePath, walker, describeConfiguration(),
+                        indexFile.get());
+            } else {
+                projects = walker.findProjects(basePath);
+            }
         } catch (IOException e) {
             throw new StandaloneInitializationException("Errors reading project artifacts", e);
         }
@@ -67,65 +186,156 @@ public class EclipseProjectScanner implements InitializationTask {
         for (var project : projects.entrySet()) {
             (new ProjectURIByLocationRegistration(project.getValue(), project.getKey())).init();
         }
+        return projects;
+    }
+
+    private String describeConfiguration() {
+        return "depth=" + maxDepth + ";excludes=" + String.join(",", excludePatterns) + ";prune=" + pruneProjects;
     }
 
     protected static Map<String, File> findProjects(Path basePath) throws IOException {
-        var projectFilePath = Paths.get(PROJECT_FILE_NAME);
-
-        var res = Files
-            .find(basePath, DEFAULT_MAX_DEPTH + projectFilePath.getNameCount(),
-                    (path, attr) -> path.endsWith(projectFilePath))
-            .collect(Collectors.toMap(EclipseProjectScanner::readProjectNameFromProjectFile, path -> {
-                var result = path;
-                // Using subpath removes the root, therefore we loop manually
-                for (int i = 0; i < projectFilePath.getNameCount(); i++) {
-                    result = result.getParent();
-                }
-                return result.toFile();
-            }));
-
-        var manifestPath = Paths.get(JarFile.MANIFEST_NAME);
-        res.putAll(Files
-            .find(basePath, DEFAULT_MAX_DEPTH + manifestPath.getNameCount(),
-                    (path, attr) -> path.endsWith(manifestPath))
-            .collect(Collectors.toMap(EclipseProjectScanner::readProjectNameFromManifestFile, path -> {
-                var result = path;
-                // Using subpath removes the root, therefore we loop manually
-                for (int i = 0; i < manifestPath.getNameCount(); i++) {
-                    result = result.getParent();
-                }
-                return result.toFile();
-            }, (a, b) -> b)));
-
-        return res;
+        return new ProjectTreeWalker(DEFAULT_MAX_DEPTH, DEFAULT_EXCLUDE_PATTERNS, false).findProjects(basePath);
     }
 
     protected static String readProjectNameFromProjectFile(Path path) {
         try {
-            var document = DocumentBuilderFactory.newInstance()
-                .newDocumentBuilder()
-                .parse(Files.newInputStream(path, StandardOpenOption.READ));
-            return document.getDocumentElement()
-                .getElementsByTagName("name")
-                .item(0)
-                .getTextContent();
-        } catch (SAXException | IOException | ParserConfigurationException e) {
+            return ProjectMetadataReader.readProjectName(path);
+        } catch (IOException e) {
             throw new RuntimeException("Error reading the project file " + path.toString(), e);
         }
     }
 
+    /**
+     * Reads the symbolic name of the bundle described by the given manifest.
+     * 
+     * @param path
+     *            The path of the manifest.
+     * @return The symbolic name or null if the manifest does not describe a bundle.
+     */
     protected static String readProjectNameFromManifestFile(Path path) {
         try {
-            Manifest manifest = new Manifest(Files.newInputStream(path, StandardOpenOption.READ));
-            var bundleName = manifest.getMainAttributes()
-                .getValue("Bundle-SymbolicName");
-            if (bundleName.indexOf(';') > 0) {
-                bundleName = bundleName.substring(0, bundleName.indexOf(';'));
-            }
-            return bundleName;
+            return ProjectMetadataReader.readBundleSymbolicName(path)
+                .orElse(null);
         } catch (IOException e) {
             throw new RuntimeException("Error reading the project file " + path.toString(), e);
         }
     }
 
+    /**
+     * Builder of {@link EclipseProjectScanner} instances.
+     */
+    public static class Builder {
+
+        private final Path basePath;
+        private Path indexFile;
+        private int maxDepth = DEFAULT_MAX_DEPTH;
+        private final List<String> excludePatterns = new ArrayList<>(DEFAULT_EXCLUDE_PATTERNS);
+        private boolean pruneProjects = false;
+        private Duration watchDebounce = null;
+
+        private Builder(Path basePath) {
+            this.basePath = basePath;
+        }
+
+        /**
+         * Sets the maximum depth of project folders relative to the base path. The default is
+         * {@link EclipseProjectScanner#DEFAULT_MAX_DEPTH}.
+         * 
+         * @param maxDepth
+         *            The maximum depth, zero only considers the base path itself.
+         * @return Modified builder instance.
+         */
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("The maximum depth must not be negative.");
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Replaces the patterns of folder names that are not scanned. The default is
+         * {@link EclipseProjectScanner#DEFAULT_EXCLUDE_PATTERNS}.
+         * 
+         * @param patterns
+         *            Glob patterns that are matched against the names of folders, e.g. "*.tmp".
+         * @return Modified builder instance.
+         */
+        public Builder excludes(String... patterns) {
+            return excludes(Arrays.asList(patterns));
+        }
+
+        /**
+         * Replaces the patterns of folder names that are not scanned.
+         * 
+         * @see #excludes(String...)
+         * 
+         * @param patterns
+         *            Glob patterns that are matched against the names of folders.
+         * @return Modified builder instance.
+         */
+        public Builder excludes(Collection<String> patterns) {
+            excludePatterns.clear();
+            excludePatterns.addAll(patterns);
+            return this;
+        }
+
+        /**
+         * Stops descending into a folder once it has been found to be a project. The default is to
+         * also find projects that are nested into other projects.
+         * 
+         * @param prune
+         *            True to skip the contents of projects, false otherwise.
+         * @return Modified builder instance.
+         */
+        public Builder pruneProjects(boolean prune) {
+            this.pruneProjects = prune;
+            return this;
+        }
+
+        /**
+         * Keeps an index of the found projects in the given file, see
+         * {@link EclipseProjectScanner#EclipseProjectScanner(Path, Path)}.
+         * 
+         * @param indexFile
+         *            The file to store the index in or null to disable the index.
+         * @return Modified builder instance.
+         */
+        public Builder indexFile(Path indexFile) {
+            this.indexFile = indexFile;
+            return this;
+        }
+
+        /**
+         * Keeps watching the base path after the scan and updates the registrations of projects
+         * that are added, moved or removed, see {@link ProjectWatcher}. The default is scanning
+         * once.
+         * 
+         * Watching scanners do not provide an identity key, so they are executed and start a new
+         * watcher in every initialization. The previous watcher of the scanner is closed.
+         * 
+         * @param debounce
+         *            The period without further changes after which changes are published, or null
+         *            to scan once.
+         * @return Modified builder instance.
+         */
+        public Builder watch(Duration debounce) {
+            if (debounce != null && debounce.isNegative()) {
+                throw new IllegalArgumentException("The debounce period must not be negative.");
+            }
+            this.watchDebounce = debounce;
+            return this;
+        }
+
+        /**
+         * Builds the scanner based on the configuration done on the builder.
+         * 
+         * @return The scanner.
+         */
+        public EclipseProjectScanner build() {
+            return new EclipseProjectScanner(basePath, indexFile, maxDepth, excludePatterns, pruneProjects,
+                    watchDebounce);
+        }
+    }
+
 }
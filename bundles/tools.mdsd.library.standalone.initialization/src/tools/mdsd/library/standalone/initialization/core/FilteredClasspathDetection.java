@@ -0,0 +1,226 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.ClasspathPluginReader;
+import tools.mdsd.library.standalone.initialization.impl.ClasspathPluginReader.PluginBundle;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest;
+import tools.mdsd.library.standalone.initialization.impl.PluginBundleCache;
+import tools.mdsd.library.standalone.initialization.impl.PluginXmlReader;
+
+/**
+ * Detects ecore extensions on the classpath like the ecore classpath detection, but reads the
+ * classpath entries in parallel and only registers the selected contributions.
+ *
+ * The plugin.xml and the manifest of an archive are read directly from the archive. The parsed
+ * contributions of archives are cached by their path, modification time and size, in memory and
+ * optionally in a file. Callers can restrict the detection to certain extension points and to
+ * bundles whose symbolic names match a pattern. The same extension points as for the
+ * {@link InitializationManifestGenerator} are supported.
+ *
+ * Use {@link #builder()} to create a detection.
+ */
+public class FilteredClasspathDetection implements InitializationTask {
+
+    private final Optional<List<Path>> classpath;
+    private final Set<String> extensionPoints;
+    private final List<PathMatcher> bundlePatterns;
+    private final Optional<Path> cacheFile;
+    private final ClassLoader classLoader;
+    private final String identityKey;
+
+    private FilteredClasspathDetection(Builder builder) {
+        this.classpath = Optional.ofNullable(builder.classpath)
+            .map(List::copyOf);
+        this.extensionPoints = Set.copyOf(builder.extensionPoints);
+        this.bundlePatterns = builder.bundlePatterns.stream()
+            .map(pattern -> FileSystems.getDefault()
+                .getPathMatcher("glob:" + pattern))
+            .collect(Collectors.toList());
+        this.cacheFile = Optional.ofNullable(builder.cacheFile);
+        this.classLoader = builder.classLoader;
+        this.identityKey = "filtered-classpath-detection:" + this.classpath.map(Object::toString)
+            .orElse("jvm") + ";points=" + extensionPoints + ";bundles=" + builder.bundlePatterns;
+    }
+
+    /**
+     * Creates a builder of a detection that registers all supported contributions of all bundles
+     * on the classpath of the running JVM.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Filtered ecore classpath detection";
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return Optional.of(identityKey);
+    }
+
+    @Override
+    public void initilizationWithoutPlatform() throws StandaloneInitializationException {
+        var cache = new PluginBundleCache(cacheFile.orElse(null));
+        List<Optional<PluginBundle>> bundles;
+        try {
+            bundles = classpath.orElseGet(FilteredClasspathDetection::getJvmClasspath)
+                .parallelStream()
+                .map(entry -> {
+                    try {
+                        return cache.readBundle(entry);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not read the classpath entry " + entry, e);
+                    }
+                })
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw new StandaloneInitializationException(e.getMessage(), e.getCause());
+        }
+        cache.save();
+
+        // registrations are applied in classpath order, so later entries win as in the ecore detection
+        var manifest = new InitializationManifest();
+        for (Optional<PluginBundle> bundle : bundles) {
+            if (bundle.isPresent() && isSelected(bundle.get())) {
+                ClasspathPluginReader.addBundle(bundle.get(), contribution -> extensionPoints.isEmpty()
+                        || extensionPoints.contains(contribution.getExtensionPoint()), manifest);
+            }
+        }
+        new InitializationManifestRegistrationTask(manifest, classLoader).init();
+    }
+
+    private boolean isSelected(PluginBundle bundle) {
+        if (bundlePatterns.isEmpty()) {
+            return true;
+        }
+        var name = Path.of(bundle.getSymbolicName());
+        return bundlePatterns.stream()
+            .anyMatch(matcher -> matcher.matches(name));
+    }
+
+    private static List<Path> getJvmClasspath() {
+        return Arrays.stream(System.getProperty("java.class.path", "")
+            .split(File.pathSeparator))
+            .filter(entry -> !entry.isBlank())
+            .map(entry -> Path.of(entry.trim()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Builder of {@link FilteredClasspathDetection} instances.
+     */
+    public static class Builder {
+
+        private List<Path> classpath;
+        private final Set<String> extensionPoints = new LinkedHashSet<>();
+        private final List<String> bundlePatterns = new ArrayList<>();
+        private Path cacheFile;
+        private ClassLoader classLoader;
+
+        private Builder() {
+            var contextClassLoader = Thread.currentThread()
+                .getContextClassLoader();
+            this.classLoader = contextClassLoader != null ? contextClassLoader
+                    : FilteredClasspathDetection.class.getClassLoader();
+        }
+
+        /**
+         * Sets the classpath entries to read. The default is the classpath of the running JVM.
+         *
+         * @param entries
+         *            Folders and archives in the order of the classpath.
+         * @return Modified builder instance.
+         */
+        public Builder classpath(Collection<Path> entries) {
+            this.classpath = new ArrayList<>(entries);
+            return this;
+        }
+
+        /**
+         * Restricts the detection to contributions to the given extension points. By default, all
+         * supported extension points are processed.
+         *
+         * @param ids
+         *            Identifiers of extension points either with or without the prefix
+         *            "org.eclipse.emf.ecore.", e.g. "generated_package".
+         * @return Modified builder instance.
+         */
+        public Builder extensionPoints(String... ids) {
+            for (String id : ids) {
+                extensionPoints.add(id.startsWith(PluginXmlReader.ECORE_EXTENSION_POINT_PREFIX)
+                        ? id.substring(PluginXmlReader.ECORE_EXTENSION_POINT_PREFIX.length())
+                        : id);
+            }
+            return this;
+        }
+
+        /**
+         * Restricts the detection to bundles whose symbolic names match one of the given patterns.
+         * By default, all bundles are processed.
+         *
+         * @param patterns
+         *            Glob patterns matched against symbolic names, e.g. "org.palladiosimulator.*".
+         * @return Modified builder instance.
+         */
+        public Builder bundles(String... patterns) {
+            bundlePatterns.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        /**
+         * Persists the contributions read from archives in the given file, so subsequent runs only
+         * read archives that changed. By default, contributions are only cached in memory.
+         *
+         * @param file
+         *            The cache file or null to only cache in memory.
+         * @return Modified builder instance.
+         */
+        public Builder cacheFile(Path file) {
+            this.cacheFile = file;
+            return this;
+        }
+
+        /**
+         * Sets the class loader used to load the registered classes. The default is the context
+         * class loader of the thread creating the builder.
+         *
+         * @param classLoader
+         *            The class loader.
+         * @return Modified builder instance.
+         */
+        public Builder classLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        /**
+         * Builds the detection based on the configuration done on the builder.
+         *
+         * @return The detection.
+         */
+        public FilteredClasspathDetection build() {
+            return new FilteredClasspathDetection(this);
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+
+import tools.mdsd.library.standalone.initialization.impl.ClasspathPluginReader;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest.EntryType;
+
+/**
+ * Generates an initialization manifest at build time, which is replayed at runtime by the
+ * {@link InitializationManifestRegistrationTask}.
+ *
+ * The generator records what the ecore classpath detection determines from the plugin.xml files of
+ * the bundles on a classpath: the locations of the bundles, generated and dynamic packages, factory
+ * overrides, resource factories and URI mappings. Contributions to other Ecore extension points
+ * such as delegates or content handlers are not recorded. Additionally, the generator records the
+ * locations of projects, either given explicitly or found by scanning folders like the
+ * {@link EclipseProjectScanner}.
+ *
+ * The generator can be run as a standalone tool, see {@link #main(String[])}.
+ */
+public class InitializationManifestGenerator {
+
+    private final List<Path> classpathEntries = new ArrayList<>();
+    private final List<Path> workspaces = new ArrayList<>();
+    private final Map<String, Path> projects = new LinkedHashMap<>();
+
+    /**
+     * Adds entries of the classpath to read Ecore contributions from.
+     *
+     * @param entries
+     *            Folders or archives on the classpath.
+     * @return Modified generator instance.
+     */
+    public InitializationManifestGenerator addClasspathEntries(Collection<Path> entries) {
+        classpathEntries.addAll(entries);
+        return this;
+    }
+
+    /**
+     * Adds a folder to look for projects in. The folder is scanned with the default settings of
+     * the {@link EclipseProjectScanner}.
+     *
+     * @param basePath
+     *            The folder containing the projects.
+     * @return Modified generator instance.
+     */
+    public InitializationManifestGenerator addWorkspace(Path basePath) {
+        workspaces.add(basePath);
+        return this;
+    }
+
+    /**
+     * Adds a project with a known location.
+     *
+     * @param projectName
+     *            The name of the project.
+     * @param location
+     *            The root folder of the project.
+     * @return Modified generator instance.
+     */
+    public InitializationManifestGenerator addProject(String projectName, Path location) {
+        projects.put(projectName, location);
+        return this;
+    }
+
+    /**
+     * Generates the manifest.
+     *
+     * @return The manifest holding all registrations.
+     * @throws IOException
+     *             In case a classpath entry or a workspace could not be read.
+     */
+    public InitializationManifest generate() throws IOException {
+        var manifest = new InitializationManifest();
+        Map<String, File> allProjects = new LinkedHashMap<>();
+        for (Path workspace : workspaces) {
+            allProjects.putAll(EclipseProjectScanner.findProjects(workspace));
+        }
+        projects.forEach((name, location) -> allProjects.put(name, location.toFile()));
+        allProjects.forEach((name, location) -> manifest.add(EntryType.PROJECT, name,
+                URI.createFileURI(location.getAbsolutePath())
+                    .appendSegment("")
+                    .toString()));
+        for (Path classpathEntry : classpathEntries) {
+            ClasspathPluginReader.read(classpathEntry, manifest);
+        }
+        return manifest;
+    }
+
+    /**
+     * Generates the manifest and writes it to a file.
+     *
+     * @param manifestFile
+     *            The file to write the manifest to.
+     * @param relativeLocations
+     *            True to store locations below the folder of the manifest file relative to it, so
+     *            the manifest remains valid if the installation is moved as a whole.
+     * @throws IOException
+     *             In case the manifest could not be generated or written.
+     */
+    public void generate(Path manifestFile, boolean relativeLocations) throws IOException {
+        generate().write(manifestFile, relativeLocations);
+    }
+
+    /**
+     * Runs the generator.
+     *
+     * Usage: {@code <manifest file> [--classpath <entries>] [--workspace <folder>]...
+     * [--project <name>=<folder>]... [--absolute]}
+     *
+     * Without the classpath option, the classpath of the running JVM is used. Classpath entries are
+     * separated by the platform path separator. Locations are stored relative to the manifest file
+     * unless the absolute option is given.
+     *
+     * @param args
+     *            The command line arguments.
+     * @throws IOException
+     *             In case the manifest could not be generated or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: <manifest file> [--classpath <entries>] "
+                    + "[--workspace <folder>]... [--project <name>=<folder>]... [--absolute]");
+        }
+        var generator = new InitializationManifestGenerator();
+        String classpath = System.getProperty("java.class.path");
+        var relativeLocations = true;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+            case "--classpath":
+                classpath = argument(args, ++i);
+                break;
+            case "--workspace":
+                generator.addWorkspace(Path.of(argument(args, ++i)));
+                break;
+            case "--project":
+                var project = argument(args, ++i).split("=", 2);
+                if (project.length != 2) {
+                    throw new IllegalArgumentException("Projects have to be given as <name>=<folder>.");
+                }
+                generator.addProject(project[0], Path.of(project[1]));
+                break;
+            case "--absolute":
+                relativeLocations = false;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+        Arrays.stream(classpath.split(File.pathSeparator))
+            .filter(entry -> !entry.isBlank())
+            .map(entry -> Path.of(entry.trim()))
+            .forEach(entry -> generator.addClasspathEntries(List.of(entry)));
+        generator.generate(Path.of(args[0]), relativeLocations);
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of argument " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
@@ -0,0 +1,184 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest.Entry;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest.EntryType;
+import tools.mdsd.library.standalone.initialization.impl.LazyEPackageDescriptor;
+import tools.mdsd.library.standalone.initialization.impl.MetaModelLoader;
+import tools.mdsd.library.standalone.initialization.impl.ReflectiveDescriptors;
+import tools.mdsd.library.standalone.initialization.impl.RegisteredArchives;
+import tools.mdsd.library.standalone.initialization.impl.RegistryStage;
+
+/**
+ * Initialization task that replays an initialization manifest into the EMF registries.
+ *
+ * The manifest is created at build time by the {@link InitializationManifestGenerator}. Replaying
+ * it replaces the ecore classpath detection and the discovery of projects, so no classpath or file
+ * system is scanned at runtime. Packages, factories and resource factories are registered as
+ * descriptors, so their classes and meta models are only loaded when they are used.
+ */
+public class InitializationManifestRegistrationTask implements InitializationTask {
+
+    private final Path manifestFile;
+    private final InitializationManifest manifest;
+    private final ClassLoader classLoader;
+
+    /**
+     * Constructs the task that reads the given manifest file. Classes are loaded by the context
+     * class loader of the thread constructing the task.
+     *
+     * @param manifestFile
+     *            The manifest file created by the {@link InitializationManifestGenerator}.
+     */
+    public InitializationManifestRegistrationTask(Path manifestFile) {
+        this(manifestFile, null, defaultClassLoader());
+    }
+
+    /**
+     * Constructs the task that reads the given manifest file.
+     *
+     * @param manifestFile
+     *            The manifest file created by the {@link InitializationManifestGenerator}.
+     * @param classLoader
+     *            The class loader used to load generated packages, factories and resource
+     *            factories.
+     */
+    public InitializationManifestRegistrationTask(Path manifestFile, ClassLoader classLoader) {
+        this(manifestFile, null, classLoader);
+    }
+
+    /**
+     * Constructs the task that registers the given manifest.
+     *
+     * @param manifest
+     *            The manifest to register.
+     * @param classLoader
+     *            The class loader used to load generated packages, factories and resource
+     *            factories.
+     */
+    public InitializationManifestRegistrationTask(InitializationManifest manifest, ClassLoader classLoader) {
+        this(null, manifest, classLoader);
+    }
+
+    private InitializationManifestRegistrationTask(Path manifestFile, InitializationManifest manifest,
+            ClassLoader classLoader) {
+        this.manifestFile = manifestFile;
+        this.manifest = manifest;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public String getDescription() {
+        return manifestFile != null ? "Initialization manifest replay of " + manifestFile
+                : "Initialization manifest replay";
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return Optional.ofNullable(manifestFile)
+            .map(file -> "initialization-manifest:" + file.toAbsolutePath()
+                .normalize());
+    }
+
+    @Override
+    public void initilizationWithoutPlatform() throws StandaloneInitializationException {
+        var registrations = manifest;
+        if (registrations == null) {
+            try {
+                registrations = InitializationManifest.read(manifestFile);
+            } catch (IOException e) {
+                throw new StandaloneInitializationException(
+                        "Could not read the initialization manifest " + manifestFile + ".", e);
+            }
+        }
+        registerLocations(registrations);
+        registerPackages(registrations);
+        registerResourceFactories(registrations);
+    }
+
+    private static void registerLocations(InitializationManifest registrations) {
+        for (Entry project : registrations.getEntries(EntryType.PROJECT)) {
+            RegistryStage.putPlatformResource(project.getKey(), URI.createURI(project.getValue()));
+        }
+        for (Entry location : registrations.getEntries()) {
+            if (location.getType() == EntryType.PROJECT || location.getType() == EntryType.PLUGIN) {
+                RegisteredArchives.register(URI.createURI(location.getValue()));
+            }
+        }
+        for (Entry project : registrations.getEntries(EntryType.PROJECT)) {
+            RegistryStage.putURIMapping(pluginURI(project.getKey()),
+                    URI.createPlatformResourceURI("/" + project.getKey() + "/", false));
+        }
+        for (Entry plugin : registrations.getEntries(EntryType.PLUGIN)) {
+            RegistryStage.putURIMapping(pluginURI(plugin.getKey()), URI.createURI(plugin.getValue()));
+        }
+        for (Entry mapping : registrations.getEntries(EntryType.URI_MAPPING)) {
+            RegistryStage.putURIMapping(URI.createURI(mapping.getKey()), URI.createURI(mapping.getValue()));
+        }
+    }
+
+    private void registerPackages(InitializationManifest registrations) {
+        Map<URI, MetaModelLoader> loaders = new HashMap<>();
+        for (Entry generated : registrations.getEntries(EntryType.GENERATED_PACKAGE)) {
+            if (!(RegistryStage.getPackage(generated.getKey()) instanceof EPackage)) {
+                // packages that are already initialized stay registered
+                RegistryStage.putPackage(generated.getKey(),
+                        ReflectiveDescriptors.generatedPackage(generated.getValue(), classLoader));
+            }
+            if (generated.getDetail() != null) {
+                RegistryStage.putGenModelLocation(generated.getKey(), URI.createURI(generated.getDetail()));
+            }
+        }
+        for (Entry dynamic : registrations.getEntries(EntryType.DYNAMIC_PACKAGE)) {
+            var location = URI.createURI(dynamic.getValue());
+            // all packages of one meta model share the loader, so it is loaded only once
+            var loader = loaders.computeIfAbsent(location.trimFragment(), uri -> new MetaModelLoader(uri, null));
+            RegistryStage.putPackage(dynamic.getKey(), new LazyEPackageDescriptor(loader, dynamic.getKey()));
+            RegistryStage.putDynamicModelLocation(dynamic.getKey(), location);
+        }
+        for (Entry override : registrations.getEntries(EntryType.FACTORY_OVERRIDE)) {
+            Object overridden = RegistryStage.getPackage(override.getKey());
+            RegistryStage.putPackage(override.getKey(),
+                    ReflectiveDescriptors.factoryOverride(override.getValue(), overridden, classLoader));
+        }
+    }
+
+    private void registerResourceFactories(InitializationManifest registrations) {
+        for (Entry parser : registrations.getEntries(EntryType.EXTENSION_PARSER)) {
+            RegistryStage.putExtensionFactory(parser.getKey(), resourceFactory(parser));
+        }
+        for (Entry parser : registrations.getEntries(EntryType.PROTOCOL_PARSER)) {
+            RegistryStage.putProtocolFactory(parser.getKey(), resourceFactory(parser));
+        }
+        for (Entry parser : registrations.getEntries(EntryType.CONTENT_PARSER)) {
+            RegistryStage.putContentTypeFactory(parser.getKey(), resourceFactory(parser));
+        }
+    }
+
+    private Object resourceFactory(Entry parser) {
+        return ReflectiveDescriptors.resourceFactory(parser.getValue(), classLoader);
+    }
+
+    private static URI pluginURI(String name) {
+        return URI.createPlatformPluginURI("/" + name + "/", false);
+    }
+
+    private static ClassLoader defaultClassLoader() {
+        var contextClassLoader = Thread.currentThread()
+            .getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader
+                : InitializationManifestRegistrationTask.class.getClassLoader();
+    }
+
+}
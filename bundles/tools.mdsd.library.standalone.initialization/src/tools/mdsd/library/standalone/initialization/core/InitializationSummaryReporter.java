@@ -0,0 +1,176 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import tools.mdsd.library.standalone.initialization.InitializationListener;
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+
+/**
+ * Listener that records the execution time of every task and reports the slowest tasks when the
+ * initialization finished.
+ *
+ * The recorded timings are reset whenever an initialization starts. The reporter can be used for
+ * sequential and parallel execution. In parallel mode, the sum of the task times usually exceeds
+ * the total time of the initialization.
+ */
+public class InitializationSummaryReporter implements InitializationListener {
+
+    /**
+     * The number of tasks listed in the summary by default.
+     */
+    public static final int DEFAULT_REPORTED_TASKS = 10;
+
+    private final Consumer<String> output;
+    private final int reportedTasks;
+    private final Queue<TaskTiming> timings = new ConcurrentLinkedQueue<>();
+    private volatile Duration totalTime = Duration.ZERO;
+
+    /**
+     * Constructs a reporter that prints the ten slowest tasks to standard error.
+     */
+    public InitializationSummaryReporter() {
+        this(System.err::println, DEFAULT_REPORTED_TASKS);
+    }
+
+    /**
+     * Constructs a reporter.
+     *
+     * @param output
+     *            Receives the summary when the initialization finished, e.g. the info method of a
+     *            logger. Pass null to only record the timings, see {@link #getSummary(int)}.
+     * @param reportedTasks
+     *            The maximum number of tasks listed in the summary.
+     */
+    public InitializationSummaryReporter(Consumer<String> output, int reportedTasks) {
+        if (reportedTasks < 0) {
+            throw new IllegalArgumentException("The number of reported tasks must not be negative.");
+        }
+        this.output = output;
+        this.reportedTasks = reportedTasks;
+    }
+
+    @Override
+    public void initializationStarted(int taskCount) {
+        timings.clear();
+        totalTime = Duration.ZERO;
+    }
+
+    @Override
+    public void initializationFinished(Duration elapsed, Throwable failure) {
+        totalTime = elapsed;
+        if (output != null) {
+            output.accept(getSummary(reportedTasks));
+        }
+    }
+
+    @Override
+    public void taskFinished(InitializationTask task, Duration elapsed) {
+        timings.add(new TaskTiming(task.getDescription(), elapsed, false));
+    }
+
+    @Override
+    public void taskFailed(InitializationTask task, Duration elapsed, Throwable failure) {
+        timings.add(new TaskTiming(task.getDescription(), elapsed, true));
+    }
+
+    /**
+     * Provides the timings of the tasks executed by the last initialization.
+     *
+     * @return The timings ordered by descending execution time.
+     */
+    public List<TaskTiming> getTimings() {
+        return timings.stream()
+            .sorted(Comparator.comparing(TaskTiming::getElapsed)
+                .reversed())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Provides the total time of the last initialization.
+     *
+     * @return The time or zero if no initialization finished yet.
+     */
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * Formats a summary of the last initialization.
+     *
+     * @param maxTasks
+     *            The maximum number of tasks to list.
+     * @return The summary consisting of one line for the initialization and one line for each of
+     *         the slowest tasks.
+     */
+    public String getSummary(int maxTasks) {
+        var sortedTimings = getTimings();
+        var failed = sortedTimings.stream()
+            .filter(TaskTiming::isFailed)
+            .count();
+        var summary = new StringBuilder();
+        summary.append(String.format("Standalone initialization took %d ms for %d task(s)", totalTime.toMillis(),
+                sortedTimings.size()));
+        if (failed > 0) {
+            summary.append(String.format(", %d failed", failed));
+        }
+        summary.append('.');
+        var listed = Math.min(maxTasks, sortedTimings.size());
+        if (listed > 0) {
+            summary.append(" Slowest task(s):");
+        }
+        for (TaskTiming timing : sortedTimings.subList(0, listed)) {
+            summary.append(String.format("%n%8d ms  %s%s", timing.getElapsed()
+                .toMillis(), timing.getDescription(), timing.isFailed() ? " (failed)" : ""));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * The execution time of a single task.
+     */
+    public static final class TaskTiming {
+
+        private final String description;
+        private final Duration elapsed;
+        private final boolean failed;
+
+        TaskTiming(String description, Duration elapsed, boolean failed) {
+            this.description = description;
+            this.elapsed = elapsed;
+            this.failed = failed;
+        }
+
+        /**
+         * @return The description of the task.
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return The time spent executing the task.
+         */
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return True if the task failed.
+         */
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return description + ": " + elapsed.toMillis() + " ms" + (failed ? " (failed)" : "");
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.BinaryMetaModelCache;
+import tools.mdsd.library.standalone.initialization.impl.MetaModelLoader;
+import tools.mdsd.library.standalone.initialization.impl.RegistryStage;
+import tools.mdsd.library.standalone.initialization.impl.RegistryTarget;
+
+/**
+ * Initialization task for registering multiple EMF meta models of a project at once.
+ * 
+ * The meta models are parsed in parallel and are then combined in one shared resource set, in
+ * which references between the meta models are resolved once. Therefore, meta models that refer to
+ * each other are neither loaded nor kept in memory multiple times.
+ * 
+ * Like {@link MetaModelRegistrationTask}, this implementation assumes that the project containing
+ * the meta models has already been registered with the EMF registries.
+ * 
+ * The time spent loading every single meta model is recorded, see {@link #getLoadTimes()}.
+ */
+public class MetaModelBatchRegistrationTask implements InitializationTask {
+
+    private final String projectName;
+    private final List<String> metaModelPaths;
+    private final Path cacheDirectory;
+    private volatile Map<String, Duration> loadTimes = Collections.emptyMap();
+
+    /**
+     * Constructs the task.
+     * 
+     * @param projectName
+     *            The name of the project hosting the meta models.
+     * @param metaModelPaths
+     *            The paths of the meta models relative to the given project without leading slash.
+     * @param cacheDirectory
+     *            The directory to store binary copies of the meta models in or null to disable
+     *            caching, see {@link MetaModelRegistrationTask#MetaModelRegistrationTask(String, String, Path)}.
+     */
+    public MetaModelBatchRegistrationTask(String projectName, Collection<String> metaModelPaths,
+            Path cacheDirectory) {
+        this.projectName = projectName;
+        this.metaModelPaths = List.copyOf(metaModelPaths);
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Meta model registration of " + metaModelPaths.size() + " meta model(s) of " + projectName;
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return Optional.of("meta-models:" + projectName + "/" + String.join(",", metaModelPaths) + ";cache="
+                + (cacheDirectory == null ? "none" : cacheDirectory.toAbsolutePath()));
+    }
+
+    /**
+     * Provides the time spent loading each meta model during the last execution. Resolving the
+     * references between the meta models is not included.
+     * 
+     * @return The load times by meta model path in the order of the paths. The map is empty if the
+     *         task has not been executed yet and incomplete if the last execution failed.
+     */
+    public Map<String, Duration> getLoadTimes() {
+        return loadTimes;
+    }
+
+    @Override
+    public void initilizationWithoutPlatform() throws StandaloneInitializationException {
+        var cache = cacheDirectory == null ? null : new BinaryMetaModelCache(cacheDirectory);
+        Map<String, Duration> measuredTimes = new ConcurrentHashMap<>();
+        // the parallel stream runs on other threads, so the registries of this thread are passed on
+        var target = RegistryStage.currentTarget();
+
+        List<Resource> resources;
+        try {
+            // every meta model is parsed in a resource set of its own, so parsing can happen in parallel
+            resources = metaModelPaths.parallelStream()
+                .map(path -> loadSeparately(path, cache, target, measuredTimes))
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw new StandaloneInitializationException("Could not load meta model. Please check preconditions.",
+                    e.getCause());
+        } finally {
+            Map<String, Duration> orderedTimes = new LinkedHashMap<>();
+            for (String path : metaModelPaths) {
+                var time = measuredTimes.get(path);
+                if (time != null) {
+                    orderedTimes.put(path, time);
+                }
+            }
+            loadTimes = Collections.unmodifiableMap(orderedTimes);
+        }
+
+        ResourceSet resourceSet = MetaModelLoader.createResourceSet(target);
+        resourceSet.getResources()
+            .addAll(resources);
+        EcoreUtil.resolveAll(resourceSet);
+
+        List<EPackage> packages = new ArrayList<>();
+        for (Resource resource : resources) {
+            var resourcePackages = MetaModelLoader.collectPackages(resource);
+            if (resourcePackages.isEmpty()) {
+                throw new StandaloneInitializationException(
+                        "The meta model " + resource.getURI() + " does not contain a package.");
+            }
+            packages.addAll(resourcePackages);
+        }
+        for (EPackage ePackage : packages) {
+            RegistryStage.putPackage(ePackage.getNsURI(), ePackage);
+        }
+    }
+
+    private Resource loadSeparately(String path, BinaryMetaModelCache cache, RegistryTarget target,
+            Map<String, Duration> measuredTimes) {
+        var uri = URI.createPlatformPluginURI(String.format("/%s/%s", projectName, path), false);
+        var start = System.nanoTime();
+        try {
+            return new MetaModelLoader(uri, cache).load(MetaModelLoader.createResourceSet(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            measuredTimes.put(path, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.MetaModelLoader;
+import tools.mdsd.library.standalone.initialization.impl.RegistryStage;
+
+/**
+ * Initialization task that reduces the memory retained by the meta models loaded during the
+ * initialization. It is usually executed after all other tasks, see
+ * {@link tools.mdsd.library.standalone.initialization.StandaloneInitializerBuilder#useMetaModelCompaction(boolean)}.
+ *
+ * The compaction applies to the registered packages that the initialization has loaded into a
+ * resource set, e.g. by the {@link MetaModelRegistrationTask}, see
+ * {@link MetaModelLoader#isCreatedByLoader(ResourceSet)}. Generated packages and packages that other
+ * components loaded into their own resource sets are not changed.
+ * <ul>
+ * <li>The load diagnostics and the cached intrinsic IDs of their resources are dropped.</li>
+ * <li>Strings held by the packages, e.g. names and namespace URIs, are interned, i.e. replaced by
+ * the instances of the string pool of the virtual machine, so equal strings are shared across
+ * packages.</li>
+ * <li>The resources are removed from their resource sets after all references between them have
+ * been resolved, so the resource sets, their URI converters and their resource maps are released.
+ * Resource sets that contain other contents than packages or whose references cannot be resolved
+ * are kept.</li>
+ * </ul>
+ * The footprint attributed to the registered packages is estimated before and after the
+ * compaction, see {@link MetaModelFootprint}. The difference is not the memory freed by the
+ * compaction: replaced strings and detached resource sets are only collected if nothing else
+ * references them, and interned strings are still counted.
+ *
+ * The packages must not be used concurrently while they are compacted, so the futures of
+ * asynchronous initializations report packages as registered only after the compaction.
+ */
+public class MetaModelCompaction implements InitializationTask {
+
+    /**
+     * Setting these attributes resets the instance class of a classifier, so they are not interned.
+     */
+    private static final Set<EAttribute> EXCLUDED_ATTRIBUTES = Set.of(
+            EcorePackage.Literals.ECLASSIFIER__INSTANCE_CLASS_NAME,
+            EcorePackage.Literals.ECLASSIFIER__INSTANCE_TYPE_NAME);
+
+    private final Consumer<String> output;
+    private volatile MetaModelFootprint footprintBefore;
+    private volatile MetaModelFootprint footprint;
+    private volatile int internedStrings;
+    private volatile int detachedResourceSets;
+
+    /**
+     * Constructs the compaction without printing the report.
+     */
+    public MetaModelCompaction() {
+        this(null);
+    }
+
+    /**
+     * Constructs the compaction.
+     *
+     * @param output
+     *            Receives the report after every compaction or null to only record the footprint,
+     *            see {@link #getFootprint()}.
+     */
+    public MetaModelCompaction(Consumer<String> output) {
+        this.output = output;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Compaction of registered meta models";
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        // packages registered by later initializations have to be compacted as well
+        return Optional.empty();
+    }
+
+    @Override
+    public void initilizationWithoutPlatform() throws StandaloneInitializationException {
+        Map<String, EPackage> packages = MetaModelFootprint.registeredPackages(RegistryStage.currentTarget()
+            .getPackageRegistry());
+        footprintBefore = MetaModelFootprint.measure(packages);
+
+        Set<Resource> resources = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<ResourceSet> resourceSets = new LinkedHashSet<>();
+        for (EPackage ePackage : packages.values()) {
+            var resource = ePackage.eResource();
+            if (resource != null && resource.getResourceSet() != null
+                    && MetaModelLoader.isCreatedByLoader(resource.getResourceSet())) {
+                resources.add(resource);
+                resourceSets.add(resource.getResourceSet());
+            }
+        }
+        var interned = 0;
+        for (Resource resource : resources) {
+            dropLoadState(resource);
+            interned += internStrings(resource);
+        }
+        var detached = 0;
+        for (ResourceSet resourceSet : resourceSets) {
+            if (detach(resourceSet)) {
+                detached++;
+            }
+        }
+        internedStrings = interned;
+        detachedResourceSets = detached;
+
+        footprint = MetaModelFootprint.measure(packages);
+        if (output != null) {
+            output.accept(getReport());
+        }
+    }
+
+    private static void dropLoadState(Resource resource) {
+        resource.getErrors()
+            .clear();
+        resource.getWarnings()
+            .clear();
+        if (resource instanceof ResourceImpl && ((ResourceImpl) resource).getIntrinsicIDToEObjectMap() != null) {
+            ((ResourceImpl) resource).setIntrinsicIDToEObjectMap(null);
+        }
+    }
+
+    private static int internStrings(Resource resource) {
+        var interned = 0;
+        for (var contents = resource.getAllContents(); contents.hasNext();) {
+            var eObject = contents.next();
+            for (EAttribute attribute : eObject.eClass()
+                .getEAllAttributes()) {
+                if (!isInternable(attribute) || !eObject.eIsSet(attribute)) {
+                    continue;
+                }
+                var value = eObject.eGet(attribute);
+                if (value instanceof String) {
+                    var internedValue = ((String) value).intern();
+                    if (internedValue != value) {
+                        eObject.eSet(attribute, internedValue);
+                        interned++;
+                    }
+                }
+            }
+        }
+        return interned;
+    }
+
+    private static boolean isInternable(EAttribute attribute) {
+        return !attribute.isMany() && attribute.isChangeable() && !attribute.isDerived() && !attribute.isVolatile()
+                && attribute.getEAttributeType()
+                    .getInstanceClass() == String.class
+                && !EXCLUDED_ATTRIBUTES.contains(attribute);
+    }
+
+    private static boolean detach(ResourceSet resourceSet) {
+        if (!containsPackagesOnly(resourceSet)) {
+            return false;
+        }
+        try {
+            EcoreUtil.resolveAll(resourceSet);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        // resolving may load referenced meta models, which have to be checked as well
+        if (!containsPackagesOnly(resourceSet) || !EcoreUtil.ProxyCrossReferencer.find(resourceSet)
+            .isEmpty()) {
+            return false;
+        }
+        List<Resource> resources = new ArrayList<>(resourceSet.getResources());
+        resourceSet.getResources()
+            .removeAll(resources);
+        return true;
+    }
+
+    private static boolean containsPackagesOnly(ResourceSet resourceSet) {
+        for (Resource resource : resourceSet.getResources()) {
+            for (EObject root : resource.getContents()) {
+                if (!(root instanceof EPackage)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The footprint of the registered packages before the last compaction or null if the
+     *         compaction has not been executed yet.
+     */
+    public MetaModelFootprint getFootprintBefore() {
+        return footprintBefore;
+    }
+
+    /**
+     * @return The footprint of the registered packages after the last compaction or null if the
+     *         compaction has not been executed yet.
+     */
+    public MetaModelFootprint getFootprint() {
+        return footprint;
+    }
+
+    /**
+     * Formats the result of the last compaction.
+     *
+     * @return The report consisting of one line for the compaction followed by the footprint.
+     */
+    public String getReport() {
+        var before = footprintBefore;
+        var after = footprint;
+        if (after == null) {
+            return "The meta models have not been compacted yet.";
+        }
+        return String.format("Compaction interned %d string(s) and detached %d resource set(s). The estimated "
+                + "footprint attributed to the packages changed from %d to %d bytes.%n%s", internedStrings,
+                detachedResourceSets, before.getTotalBytes(), after.getTotalBytes(), after.getReport());
+    }
+
+}
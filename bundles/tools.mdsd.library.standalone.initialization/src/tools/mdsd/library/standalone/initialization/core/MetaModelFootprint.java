@@ -0,0 +1,362 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+/**
+ * Estimated memory footprint of the packages registered in a package registry.
+ *
+ * The footprint of a package covers the objects contained in the package except for registered
+ * subpackages, the strings and lists held by these objects, the factory of the package and, for
+ * the root package of a resource, the resource and its resource set. Objects shared by several
+ * packages, e.g. a resource set holding several meta models or a string used by several packages,
+ * are attributed to the first package in the order of the namespace URIs. References to objects
+ * outside of the package are not followed.
+ *
+ * The sizes are estimated from the field layout of the classes for a 64-bit virtual machine with
+ * compressed references. They do not match a heap dump exactly, but show which packages account
+ * for the memory retained by the initialization. Caches that are derived from the stored features,
+ * e.g. the lists of all features of a class, are not included. Packages registered by descriptors
+ * that have not been resolved yet are not included either.
+ */
+public final class MetaModelFootprint {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+    private static final int HASH_MAP_NODE = 32;
+    private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = OBJECT_HEADER;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        }
+    };
+
+    private final List<Entry> entries;
+    private final long totalBytes;
+
+    private MetaModelFootprint(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.totalBytes = entries.stream()
+            .mapToLong(Entry::getBytes)
+            .sum();
+    }
+
+    /**
+     * Measures the packages registered in the global package registry.
+     *
+     * @return The footprint.
+     */
+    public static MetaModelFootprint measure() {
+        return measure(EPackage.Registry.INSTANCE);
+    }
+
+    /**
+     * Measures the packages registered in the given registry. Packages of a registry it delegates
+     * to are not included, e.g. the packages of the global registry for the registry of an
+     * {@link tools.mdsd.library.standalone.initialization.InitializationScope}.
+     *
+     * @param registry
+     *            The package registry.
+     * @return The footprint.
+     */
+    public static MetaModelFootprint measure(EPackage.Registry registry) {
+        return measure(registeredPackages(registry));
+    }
+
+    static MetaModelFootprint measure(Map<String, EPackage> packages) {
+        var measurement = new Measurement(packages.values());
+        List<Entry> entries = new ArrayList<>();
+        for (var registered : packages.entrySet()) {
+            var bytes = measurement.bytes;
+            var objects = measurement.objects;
+            measurement.addPackage(registered.getValue());
+            entries.add(new Entry(registered.getKey(), measurement.bytes - bytes, measurement.objects - objects));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getBytes)
+            .reversed());
+        return new MetaModelFootprint(entries);
+    }
+
+    /**
+     * Copies the resolved packages of a registry.
+     *
+     * @param registry
+     *            The registry.
+     * @return The packages ordered by their namespace URI.
+     */
+    static Map<String, EPackage> registeredPackages(EPackage.Registry registry) {
+        Map<String, EPackage> packages = new TreeMap<>();
+        synchronized (registry) {
+            for (var registration : registry.entrySet()) {
+                if (registration.getValue() instanceof EPackage) {
+                    packages.put(registration.getKey(), (EPackage) registration.getValue());
+                }
+            }
+        }
+        return packages;
+    }
+
+    /**
+     * @return The footprint of every package ordered by descending size.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return The estimated number of bytes retained by all packages.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Formats the footprint.
+     *
+     * @return The report consisting of one line for the registry and one line for each package.
+     */
+    public String getReport() {
+        var report = new StringBuilder();
+        report.append(String.format("%d package(s) retain an estimated %d bytes.", entries.size(), totalBytes));
+        for (Entry entry : entries) {
+            report.append(String.format("%n%12d bytes %8d objects  %s", entry.getBytes(), entry.getObjectCount(),
+                    entry.getNsURI()));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+
+    private static long fieldSize(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static long arraySize(int length, long elementSize) {
+        return align(ARRAY_HEADER + length * elementSize);
+    }
+
+    /**
+     * Accumulates the sizes of the objects visited for all packages.
+     */
+    private static class Measurement {
+
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<EPackage> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+        private long bytes;
+        private long objects;
+
+        Measurement(Iterable<EPackage> packages) {
+            for (EPackage ePackage : packages) {
+                registered.add(ePackage);
+            }
+        }
+
+        void addPackage(EPackage ePackage) {
+            var queue = new ArrayDeque<EObject>();
+            queue.add(ePackage);
+            while (!queue.isEmpty()) {
+                var eObject = queue.pop();
+                if (!visited.add(eObject)) {
+                    continue;
+                }
+                addObject(eObject);
+                for (EObject child : eObject.eContents()) {
+                    if (!registered.contains(child)) {
+                        queue.add(child);
+                    }
+                }
+            }
+            var factory = ePackage.getEFactoryInstance();
+            if (factory != null && visited.add(factory)) {
+                addShallow(factory);
+            }
+            var resource = ePackage.eResource();
+            if (ePackage.eContainer() == null && resource != null && visited.add(resource)) {
+                addResource(resource);
+            }
+        }
+
+        private void addObject(EObject eObject) {
+            addShallow(eObject);
+            for (EStructuralFeature feature : eObject.eClass()
+                .getEAllStructuralFeatures()) {
+                if (feature.isDerived() || feature.isVolatile()
+                        || feature instanceof EReference && !feature.isMany() || !eObject.eIsSet(feature)) {
+                    continue;
+                }
+                var value = eObject.eGet(feature, false);
+                if (feature.isMany()) {
+                    addList(value, feature instanceof EAttribute);
+                } else {
+                    addString(value);
+                }
+            }
+        }
+
+        private void addResource(Resource resource) {
+            addShallow(resource);
+            addList(resource.getContents(), false);
+            if (resource instanceof ResourceImpl) {
+                addMap(((ResourceImpl) resource).getIntrinsicIDToEObjectMap());
+            }
+            var resourceSet = resource.getResourceSet();
+            if (resourceSet != null && visited.add(resourceSet)) {
+                addResourceSet(resourceSet);
+            }
+        }
+
+        private void addResourceSet(ResourceSet resourceSet) {
+            addShallow(resourceSet);
+            addList(resourceSet.getResources(), false);
+            var converter = resourceSet.getURIConverter();
+            if (visited.add(converter)) {
+                addShallow(converter);
+                addList(converter.getURIHandlers(), false);
+            }
+            if (resourceSet instanceof ResourceSetImpl) {
+                addMap(((ResourceSetImpl) resourceSet).getURIResourceMap());
+            }
+        }
+
+        private void addShallow(Object object) {
+            bytes += SHALLOW_SIZES.get(object.getClass());
+            objects++;
+        }
+
+        private void addList(Object value, boolean withElements) {
+            if (!(value instanceof List) || !visited.add(value)) {
+                return;
+            }
+            var list = (List<?>) value;
+            addShallow(list);
+            if (list instanceof BasicEList) {
+                var data = ((BasicEList<?>) list).data();
+                if (data != null) {
+                    bytes += arraySize(data.length, REFERENCE);
+                }
+            } else {
+                bytes += arraySize(list.size(), REFERENCE);
+            }
+            if (withElements) {
+                // only attribute values are iterated, iterating references may resolve proxies
+                for (Object element : list) {
+                    addString(element);
+                }
+            }
+        }
+
+        private void addMap(Map<?, ?> map) {
+            if (map == null || !visited.add(map)) {
+                return;
+            }
+            addShallow(map);
+            if (!map.isEmpty()) {
+                var tableSize = Integer.highestOneBit(Math.max(1, map.size() * 4 / 3) * 2 - 1);
+                bytes += arraySize(tableSize, REFERENCE) + (long) map.size() * HASH_MAP_NODE;
+            }
+        }
+
+        private void addString(Object value) {
+            if (!(value instanceof String) || !visited.add(value)) {
+                return;
+            }
+            var string = (String) value;
+            var latin1 = string.chars()
+                .allMatch(c -> c <= 0xFF);
+            addShallow(string);
+            bytes += arraySize(string.length(), latin1 ? 1 : 2);
+        }
+    }
+
+    /**
+     * The footprint of one registered package.
+     */
+    public static final class Entry {
+
+        private final String nsURI;
+        private final long bytes;
+        private final long objectCount;
+
+        Entry(String nsURI, long bytes, long objectCount) {
+            this.nsURI = nsURI;
+            this.bytes = bytes;
+            this.objectCount = objectCount;
+        }
+
+        /**
+         * @return The namespace URI the package is registered with.
+         */
+        public String getNsURI() {
+            return nsURI;
+        }
+
+        /**
+         * @return The estimated number of bytes retained by the package.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return The number of objects retained by the package.
+         */
+        public long getObjectCount() {
+            return objectCount;
+        }
+
+        @Override
+        public String toString() {
+            return nsURI + ": " + bytes + " bytes";
+        }
+    }
+
+}
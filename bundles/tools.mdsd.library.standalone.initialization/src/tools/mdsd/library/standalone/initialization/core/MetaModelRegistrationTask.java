@@ -1,15 +1,20 @@
 package tools.mdsd.library.standalone.initialization.core;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 
 import org.eclipse.emf.common.util.URI;
-import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EPackage;
-import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.BinaryMetaModelCache;
+import tools.mdsd.library.standalone.initialization.impl.LazyEPackageDescriptor;
+import tools.mdsd.library.standalone.initialization.impl.MetaModelHeaderReader;
+import tools.mdsd.library.standalone.initialization.impl.MetaModelLoader;
+import tools.mdsd.library.standalone.initialization.impl.RegistryStage;
 
 /**
  * Initilization task for manually registering EMF meta models.
@@ -22,6 +27,8 @@ public class MetaModelRegistrationTask implements InitializationTask {
 
     private final String projectName;
     private final String metaModelPath;
+    private final Path cacheDirectory;
+    private final boolean lazy;
 
     /**
      * Constructs the task
@@ -32,30 +39,99 @@ public class MetaModelRegistrationTask implements InitializationTask {
      *            The path of the meta model relative to the given project without leading slash.
      */
     public MetaModelRegistrationTask(String projectName, String metaModelPath) {
+        this(projectName, metaModelPath, null);
+    }
+
+    /**
+     * Constructs the task that keeps a binary copy of the meta model in the given cache directory.
+     * 
+     * Subsequent runs load the binary copy instead of parsing the meta model as long as the
+     * contents of the meta model did not change.
+     * 
+     * @param projectName
+     *            The name of the project hosting the meta model.
+     * @param metaModelPath
+     *            The path of the meta model relative to the given project without leading slash.
+     * @param cacheDirectory
+     *            The directory to store the binary copies in or null to disable caching.
+     */
+    public MetaModelRegistrationTask(String projectName, String metaModelPath, Path cacheDirectory) {
+        this(projectName, metaModelPath, cacheDirectory, false);
+    }
+
+    /**
+     * Constructs the task.
+     * 
+     * In lazy mode, the task only reads the namespace URIs of the meta model and registers
+     * descriptors for the packages. The meta model is loaded when one of its packages is looked up
+     * in the package registry for the first time.
+     * 
+     * @param projectName
+     *            The name of the project hosting the meta model.
+     * @param metaModelPath
+     *            The path of the meta model relative to the given project without leading slash.
+     * @param cacheDirectory
+     *            The directory to store the binary copies in or null to disable caching.
+     * @param lazy
+     *            True to load the meta model on first access, false to load it immediately.
+     */
+    public MetaModelRegistrationTask(String projectName, String metaModelPath, Path cacheDirectory, boolean lazy) {
         this.projectName = projectName;
         this.metaModelPath = metaModelPath;
+        this.cacheDirectory = cacheDirectory;
+        this.lazy = lazy;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Meta model registration of " + projectName + "/" + metaModelPath;
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        // lazy and eager registrations replace each other, so they must not skip each other
+        return Optional.of("meta-model:" + projectName + "/" + metaModelPath + ";lazy=" + lazy + ";cache="
+                + (cacheDirectory == null ? "none" : cacheDirectory.toAbsolutePath()));
     }
 
     @Override
     public void initilizationWithoutPlatform() throws StandaloneInitializationException {
-        var rs = new ResourceSetImpl();
         var uri = URI.createPlatformPluginURI(String.format("/%s/%s", projectName, metaModelPath), false);
-        
-        var queue = new LinkedList<EPackage>();
+        var loader = new MetaModelLoader(uri, cacheDirectory == null ? null : new BinaryMetaModelCache(cacheDirectory));
+
         try {
-            var epackage = (EPackage) rs.getResource(uri, true)
-                .getContents()
-                .get(0);
-            queue.add(epackage);
-        } catch (WrappedException e) {
-            throw new StandaloneInitializationException("Could not load meta model. Please check preconditions.",
-                    e.getCause());
+            if (lazy) {
+                registerDescriptors(loader);
+            } else {
+                registerPackages(loader);
+            }
+        } catch (IOException e) {
+            throw new StandaloneInitializationException("Could not load meta model. Please check preconditions.", e);
+        }
+    }
+
+    private static void registerPackages(MetaModelLoader loader) throws IOException {
+        var packages = MetaModelLoader.collectPackages(loader.load(loader.createResourceSet()));
+        if (packages.isEmpty()) {
+            throw new IOException("The meta model " + loader.getURI() + " does not contain a package.");
+        }
+        for (EPackage epackage : packages) {
+            RegistryStage.putPackage(epackage.getNsURI(), epackage);
+        }
+    }
+
+    private static void registerDescriptors(MetaModelLoader loader) throws IOException {
+        List<String> nsURIs;
+        try (var in = loader.createResourceSet()
+            .getURIConverter()
+            .createInputStream(loader.getURI())) {
+            nsURIs = MetaModelHeaderReader.readNamespaceURIs(in);
+        }
+        if (nsURIs.isEmpty()) {
+            throw new IOException("The meta model " + loader.getURI() + " does not contain a package.");
         }
-        
-        while(!queue.isEmpty()) {
-            var epackage = queue.pop();
-            EPackageRegistryImpl.INSTANCE.put(epackage.getNsURI(), epackage);
-            queue.addAll(epackage.getESubpackages());            
+        for (String nsURI : nsURIs) {
+            RegistryStage.putPackage(nsURI, new LazyEPackageDescriptor(loader, nsURI));
         }
     }
 
@@ -0,0 +1,123 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.RegisteredArchives;
+import tools.mdsd.library.standalone.initialization.impl.RegistryStage;
+
+/**
+ * Discovers files of a registered project, e.g. all meta models of a certain type.
+ *
+ * The project is located by resolving its platform plugin URI, so projects registered via the
+ * platform resource map as well as plugins registered via URI mappings are supported. Projects
+ * located in directories and in local archives can be searched. Within a task, the project is
+ * resolved by the registries the task registers with.
+ */
+public final class ProjectFileDiscovery {
+
+    private ProjectFileDiscovery() {
+        // utility class
+    }
+
+    /**
+     * Finds the files of a project whose path relative to the project matches a glob pattern.
+     *
+     * @param projectName
+     *            The name of the registered project.
+     * @param globPattern
+     *            The glob pattern matched against the relative paths with slash separators, see
+     *            {@link FileSystem#getPathMatcher(String)}. For instance, "**.ecore" matches all
+     *            ecore files of the project and "model/*.ecore" only those in the model folder.
+     * @return The matching paths relative to the project without leading slash in lexical order.
+     * @throws StandaloneInitializationException
+     *             In case the project is not registered or could not be read.
+     */
+    public static List<String> findFiles(String projectName, String globPattern)
+            throws StandaloneInitializationException {
+        var projectURI = resolveProject(projectName);
+        try {
+            if (projectURI.isFile()) {
+                return findFiles(Path.of(projectURI.toFileString()), globPattern);
+            }
+            var archive = RegisteredArchives.toArchivePath(projectURI);
+            if (archive != null) {
+                try (var fileSystem = FileSystems.newFileSystem(archive, Collections.emptyMap())) {
+                    var projectPath = projectURI.path() == null ? "/" : URI.decode(projectURI.path());
+                    return findFiles(fileSystem.getPath(projectPath), globPattern);
+                }
+            }
+        } catch (IOException e) {
+            throw new StandaloneInitializationException("Could not search the files of project " + projectName, e);
+        }
+        throw new StandaloneInitializationException("The project " + projectName + " located at " + projectURI
+                + " is neither a local directory nor a local archive.");
+    }
+
+    private static URI resolveProject(String projectName) throws StandaloneInitializationException {
+        var projectURI = RegistryStage.currentTarget()
+            .createResourceSet()
+            .getURIConverter()
+            .normalize(URI.createPlatformPluginURI("/" + projectName + "/", false));
+        if (projectURI.isPlatformResource()) {
+            var resolvedURI = EcorePlugin.resolvePlatformResourcePath(projectURI.toPlatformString(true));
+            if (resolvedURI == null) {
+                throw new StandaloneInitializationException("The project " + projectName
+                        + " has not been registered. Please check preconditions.");
+            }
+            projectURI = resolvedURI;
+        }
+        if (projectURI.isPlatform()) {
+            throw new StandaloneInitializationException(
+                    "The project " + projectName + " has not been registered. Please check preconditions.");
+        }
+        return projectURI;
+    }
+
+    private static List<String> findFiles(Path projectPath, String globPattern) throws IOException {
+        if (!Files.isDirectory(projectPath)) {
+            return Collections.emptyList();
+        }
+        PathMatcher matcher = projectPath.getFileSystem()
+            .getPathMatcher("glob:" + globPattern);
+        List<String> result = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(projectPath)) {
+            for (Path file : files.filter(Files::isRegularFile)
+                .collect(Collectors.toList())) {
+                var relativePath = toSlashSeparated(projectPath.relativize(file));
+                // the pattern is matched in the file system of the project, but always with slash separators
+                if (matcher.matches(file.getFileSystem()
+                    .getPath(relativePath))) {
+                    result.add(relativePath);
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static String toSlashSeparated(Path relativePath) {
+        var result = new StringBuilder();
+        for (Path name : relativePath) {
+            if (result.length() > 0) {
+                result.append('/');
+            }
+            result.append(name.toString());
+        }
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,179 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import tools.mdsd.library.standalone.initialization.core.ProjectTreeWalker.ArtifactState;
+import tools.mdsd.library.standalone.initialization.core.ProjectTreeWalker.DirectoryState;
+
+/**
+ * Persistent index of the Eclipse projects found below a base path.
+ *
+ * The index records the modification time of every directory that has been scanned as well as the
+ * modification time and size of every project artifact. When the index is reused, only directories
+ * whose modification time changed are listed again and only artifacts that changed are parsed
+ * again. Unchanged subtrees are taken from the index without touching their contents.
+ */
+class ProjectLocationIndex {
+
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * Modifications that happen within this period after a scan might not be visible in the
+     * modification time of coarse-grained file systems. Such entries are always validated again.
+     */
+    private static final long MODIFICATION_GRANULARITY_MILLIS = 2000;
+
+    private final Path basePath;
+    private final String configuration;
+    private final Map<String, DirectoryState> directories = new HashMap<>();
+
+    private ProjectLocationIndex(Path basePath, String configuration) {
+        this.basePath = basePath.toAbsolutePath()
+            .normalize();
+        this.configuration = configuration;
+    }
+
+    /**
+     * Finds the projects below the given base path by using and updating the index stored in the
+     * given file.
+     *
+     * @param basePath
+     *            The path to look for projects in.
+     * @param walker
+     *            The walker used to scan directories that changed.
+     * @param configuration
+     *            A description of the walker configuration. The index is discarded if it has been
+     *            created with another configuration.
+     * @param indexFile
+     *            The file holding the index. If the file does not exist or does not match the given
+     *            parameters, a new index is created.
+     * @return The found projects by their name.
+     * @throws IOException
+     *             In case the file system could not be read.
+     */
+    static Map<String, File> findProjects(Path basePath, ProjectTreeWalker walker, String configuration,
+            Path indexFile) throws IOException {
+        var index = new ProjectLocationIndex(basePath, configuration);
+        index.load(indexFile);
+        var scanStart = System.currentTimeMillis();
+        var scanned = walker.walk(index.basePath, index.directories);
+        index.save(indexFile, scanned, scanStart - MODIFICATION_GRANULARITY_MILLIS);
+        return ProjectTreeWalker.toProjects(index.basePath, scanned);
+    }
+
+    private void load(Path indexFile) {
+        if (!Files.isRegularFile(indexFile)) {
+            return;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != FORMAT_VERSION || !basePath.toString()
+                .equals(in.readUTF()) || !configuration.equals(in.readUTF())) {
+                return;
+            }
+            var count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                var relativePath = in.readUTF();
+                var state = new DirectoryState();
+                state.modified = in.readLong();
+                state.metaInfModified = in.readLong();
+                var subdirectoryCount = in.readInt();
+                if (subdirectoryCount >= 0) {
+                    state.subdirectories = new ArrayList<>(subdirectoryCount);
+                    for (int j = 0; j < subdirectoryCount; j++) {
+                        state.subdirectories.add(in.readUTF());
+                    }
+                }
+                state.projectFile = readArtifact(in);
+                state.manifestFile = readArtifact(in);
+                directories.put(relativePath, state);
+            }
+        } catch (IOException e) {
+            // a damaged index is simply rebuilt
+            directories.clear();
+        }
+    }
+
+    private static ArtifactState readArtifact(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        var artifact = new ArtifactState();
+        artifact.modified = in.readLong();
+        artifact.size = in.readLong();
+        artifact.projectName = in.readUTF();
+        return artifact;
+    }
+
+    private void save(Path indexFile, Map<String, DirectoryState> scanned, long stableBefore) {
+        try {
+            var parent = indexFile.toAbsolutePath()
+                .getParent();
+            Files.createDirectories(parent);
+            var tempFile = Files.createTempFile(parent, indexFile.getFileName()
+                .toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(basePath.toString());
+                    out.writeUTF(configuration);
+                    out.writeInt(scanned.size());
+                    for (var directory : scanned.entrySet()) {
+                        var state = directory.getValue();
+                        out.writeUTF(directory.getKey());
+                        out.writeLong(stable(state.modified, stableBefore));
+                        out.writeLong(stable(state.metaInfModified, stableBefore));
+                        if (state.subdirectories == null) {
+                            out.writeInt(-1);
+                        } else {
+                            out.writeInt(state.subdirectories.size());
+                            for (String subdirectory : state.subdirectories) {
+                                out.writeUTF(subdirectory);
+                            }
+                        }
+                        writeArtifact(out, state.projectFile, stableBefore);
+                        writeArtifact(out, state.manifestFile, stableBefore);
+                    }
+                }
+                moveIntoPlace(tempFile, indexFile);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // the index is only a cache, so failing to write it must not break the initialization
+        }
+    }
+
+    private static void writeArtifact(DataOutputStream out, ArtifactState artifact, long stableBefore)
+            throws IOException {
+        out.writeBoolean(artifact != null);
+        if (artifact != null) {
+            out.writeLong(stable(artifact.modified, stableBefore));
+            out.writeLong(artifact.size);
+            out.writeUTF(artifact.projectName);
+        }
+    }
+
+    private static long stable(long modified, long stableBefore) {
+        return modified >= stableBefore ? ProjectTreeWalker.UNKNOWN : modified;
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
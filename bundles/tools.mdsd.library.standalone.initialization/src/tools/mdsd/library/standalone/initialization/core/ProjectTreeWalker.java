@@ -0,0 +1,288 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+/**
+ * Walks a directory tree once and detects Eclipse project files as well as Jar-File Manifests.
+ *
+ * Independent subtrees are walked in parallel on the common fork join pool. Directories matching
+ * one of the exclude patterns are skipped. If pruning is enabled, the walk does not descend into
+ * directories that already are a project root.
+ */
+class ProjectTreeWalker {
+
+    static final long UNKNOWN = -1;
+
+    private final int maxDepth;
+    private final List<PathMatcher> excludes;
+    private final boolean pruneProjects;
+
+    /**
+     * Constructs the walker.
+     *
+     * @param maxDepth
+     *            The maximum depth of project folders relative to the base path.
+     * @param excludePatterns
+     *            Glob patterns for names of directories that are not visited.
+     * @param pruneProjects
+     *            True if the walk shall not descend into project folders.
+     */
+    ProjectTreeWalker(int maxDepth, Collection<String> excludePatterns, boolean pruneProjects) {
+        this.maxDepth = maxDepth;
+        this.excludes = excludePatterns.stream()
+            .map(pattern -> FileSystems.getDefault()
+                .getPathMatcher("glob:" + pattern))
+            .collect(Collectors.toList());
+        this.pruneProjects = pruneProjects;
+    }
+
+    /**
+     * Walks the tree below the given base path.
+     *
+     * @param basePath
+     *            The path to start at.
+     * @param previous
+     *            The directory states of a previous walk by their relative path. Unchanged
+     *            directories and artifacts are taken from this map instead of reading them again.
+     * @return The states of all visited directories by their relative path in lexical order.
+     * @throws IOException
+     *             In case the file system could not be read.
+     */
+    Map<String, DirectoryState> walk(Path basePath, Map<String, DirectoryState> previous) throws IOException {
+        Map<String, DirectoryState> result = new ConcurrentSkipListMap<>();
+        if (Files.isDirectory(basePath)) {
+            try {
+                ForkJoinPool.commonPool()
+                    .invoke(new DirectoryVisit(basePath, "", 0, previous, result));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Walks the tree below the given base path and collects the found projects.
+     *
+     * @param basePath
+     *            The path to start at.
+     * @return The found projects by their name.
+     * @throws IOException
+     *             In case the file system could not be read.
+     */
+    Map<String, File> findProjects(Path basePath) throws IOException {
+        return toProjects(basePath, walk(basePath, Collections.emptyMap()));
+    }
+
+    /**
+     * Derives the project locations from the visited directories. Bundle names from manifests
+     * take precedence over project names of project files.
+     *
+     * @param basePath
+     *            The path the walk started at.
+     * @param directories
+     *            The visited directories.
+     * @return The found projects by their name.
+     */
+    static Map<String, File> toProjects(Path basePath, Map<String, DirectoryState> directories) {
+        Map<String, File> projects = new HashMap<>();
+        Map<String, File> bundles = new HashMap<>();
+        directories.forEach((relativePath, state) -> {
+            var location = basePath.resolve(relativePath)
+                .toFile();
+            if (state.projectFile != null) {
+                projects.putIfAbsent(state.projectFile.projectName, location);
+            }
+            if (state.manifestFile != null) {
+                bundles.put(state.manifestFile.projectName, location);
+            }
+        });
+        projects.putAll(bundles);
+        return projects;
+    }
+
+    private boolean isExcluded(String directoryName) {
+        var name = Path.of(directoryName);
+        return excludes.stream()
+            .anyMatch(matcher -> matcher.matches(name));
+    }
+
+    private static ArtifactState readArtifact(Path path, ArtifactState previous, boolean manifest)
+            throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+        var modified = attributes.lastModifiedTime()
+            .to(TimeUnit.MILLISECONDS);
+        if (previous != null && previous.modified != UNKNOWN && previous.modified == modified
+                && previous.size == attributes.size()) {
+            return previous;
+        }
+        var projectName = manifest ? EclipseProjectScanner.readProjectNameFromManifestFile(path)
+                : EclipseProjectScanner.readProjectNameFromProjectFile(path);
+        if (projectName == null) {
+            // plain Jar-File Manifests do not describe a project
+            return null;
+        }
+        var artifact = new ArtifactState();
+        artifact.modified = modified;
+        artifact.size = attributes.size();
+        artifact.projectName = projectName;
+        return artifact;
+    }
+
+    private static long lastModified(Path path) throws IOException {
+        try {
+            return Files.getLastModifiedTime(path, LinkOption.NOFOLLOW_LINKS)
+                .to(TimeUnit.MILLISECONDS);
+        } catch (NoSuchFileException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Visit of a single directory that forks the visits of its subdirectories.
+     */
+    private class DirectoryVisit extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path directory;
+        private final String relativePath;
+        private final int depth;
+        private final transient Map<String, DirectoryState> previous;
+        private final transient Map<String, DirectoryState> result;
+
+        DirectoryVisit(Path directory, String relativePath, int depth, Map<String, DirectoryState> previous,
+                Map<String, DirectoryState> result) {
+            this.directory = directory;
+            this.relativePath = relativePath;
+            this.depth = depth;
+            this.previous = previous;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                var state = visit();
+                result.put(relativePath, state);
+                if (state.subdirectories == null) {
+                    return;
+                }
+                var children = new ArrayList<DirectoryVisit>(state.subdirectories.size());
+                for (String subdirectory : state.subdirectories) {
+                    var childPath = relativePath.isEmpty() ? subdirectory : relativePath + "/" + subdirectory;
+                    children.add(new DirectoryVisit(directory.resolve(subdirectory), childPath, depth + 1, previous,
+                            result));
+                }
+                ForkJoinTask.invokeAll(children);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private DirectoryState visit() throws IOException {
+            var cached = previous.get(relativePath);
+            var state = new DirectoryState();
+            state.modified = lastModified(directory);
+            state.metaInfModified = lastModified(directory.resolve(JarFile.MANIFEST_NAME)
+                .getParent());
+            var unchanged = cached != null && cached.modified != UNKNOWN && cached.modified == state.modified;
+
+            if (unchanged && cached.projectFile == null) {
+                // creating the project file would have changed the directory
+                state.projectFile = null;
+            } else {
+                state.projectFile = readArtifact(directory.resolve(EclipseProjectScanner.PROJECT_FILE_NAME),
+                        cached == null ? null : cached.projectFile, false);
+            }
+            if (cached != null && cached.metaInfModified != UNKNOWN && cached.metaInfModified == state.metaInfModified
+                    && cached.manifestFile == null) {
+                // creating the manifest would have changed the META-INF directory
+                state.manifestFile = null;
+            } else {
+                state.manifestFile = readArtifact(directory.resolve(JarFile.MANIFEST_NAME),
+                        cached == null ? null : cached.manifestFile, true);
+            }
+
+            var isProject = state.projectFile != null || state.manifestFile != null;
+            if (depth >= maxDepth || (pruneProjects && isProject)) {
+                state.subdirectories = null;
+            } else if (unchanged && cached.subdirectories != null) {
+                state.subdirectories = cached.subdirectories;
+            } else {
+                state.subdirectories = listSubdirectories();
+            }
+            return state;
+        }
+
+        private List<String> listSubdirectories() throws IOException {
+            List<String> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path child : stream) {
+                    var name = child.getFileName()
+                        .toString();
+                    if (!isExcluded(name) && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                        subdirectories.add(name);
+                    }
+                }
+            }
+            subdirectories.sort(null);
+            return subdirectories;
+        }
+    }
+
+    /**
+     * The state of a visited directory.
+     */
+    static class DirectoryState {
+        long modified;
+        long metaInfModified;
+        /**
+         * The names of the subdirectories to visit or null if the directory has not been listed.
+         */
+        List<String> subdirectories;
+        ArtifactState projectFile;
+        ArtifactState manifestFile;
+    }
+
+    /**
+     * The state of a project artifact.
+     */
+    static class ArtifactState {
+        long modified;
+        long size;
+        String projectName;
+    }
+
+}
@@ -0,0 +1,465 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
+import tools.mdsd.library.standalone.initialization.impl.RegistryStage;
+import tools.mdsd.library.standalone.initialization.impl.RegistryTarget;
+
+/**
+ * Keeps the project registrations of an {@link EclipseProjectScanner} up to date while projects
+ * below its base path are added, moved or removed.
+ *
+ * The watcher observes the directories the scanner visits for changes of Eclipse project files
+ * (".project"), Jar-File Manifests ("META-INF/MANIFEST.MF") and folders. Changes are collected
+ * until no further change happened for the debounce period. Afterwards, only the subtrees that
+ * contain changes are scanned again and the affected project locations are registered, updated or
+ * unregistered in one batch, so a burst of changes, e.g. a checkout, leads to a single update.
+ *
+ * The watcher runs on a daemon thread until it is closed. If the thread fails unexpectedly, the
+ * watcher closes itself and reports the failure to its listeners. Watchers are created by scanners
+ * that have been built with {@link EclipseProjectScanner.Builder#watch(Duration)}.
+ */
+public final class ProjectWatcher implements Closeable {
+
+    private static final String META_INF = "META-INF";
+    private static final String MANIFEST_FILE_NAME = Path.of(JarFile.MANIFEST_NAME)
+        .getFileName()
+        .toString();
+
+    private final Path basePath;
+    private final int maxDepth;
+    private final Collection<String> excludePatterns;
+    private final List<PathMatcher> excludes;
+    private final boolean pruneProjects;
+    private final Duration debounce;
+    private final RegistryTarget target;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Map<String, File> projects = new TreeMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    ProjectWatcher(Path basePath, int maxDepth, Collection<String> excludePatterns, boolean pruneProjects,
+            Duration debounce) throws IOException {
+        this.basePath = basePath.toAbsolutePath()
+            .normalize();
+        this.maxDepth = maxDepth;
+        this.excludePatterns = List.copyOf(excludePatterns);
+        this.excludes = excludePatterns.stream()
+            .map(pattern -> FileSystems.getDefault()
+                .getPathMatcher("glob:" + pattern))
+            .collect(Collectors.toList());
+        this.pruneProjects = pruneProjects;
+        this.debounce = debounce;
+        // the registrations of the watcher go to the registries the scanner registered with
+        this.target = RegistryStage.currentTarget();
+        this.watchService = this.basePath.getFileSystem()
+            .newWatchService();
+        this.thread = new Thread(this::watch, "project-watcher-" + this.basePath);
+        this.thread.setDaemon(true);
+        try {
+            registerTree(this.basePath, 0);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts watching. Changes that happened since the construction of the watcher are already
+     * included, so no change between the initial scan and the start is missed.
+     *
+     * @param scannedProjects
+     *            The projects found and registered by the initial scan.
+     */
+    void start(Map<String, File> scannedProjects) {
+        synchronized (projects) {
+            for (var project : scannedProjects.entrySet()) {
+                projects.put(project.getKey(), project.getValue()
+                    .toPath()
+                    .toAbsolutePath()
+                    .normalize()
+                    .toFile());
+            }
+        }
+        thread.start();
+    }
+
+    /**
+     * Adds a listener that is notified after each batch of changes has been published to the
+     * registries. Listeners are notified on the thread of the watcher. Exceptions thrown by
+     * {@link Listener#projectsChanged(Map, Set)} are passed to {@link Listener#updateFailed(Exception)},
+     * exceptions thrown by the latter are ignored.
+     *
+     * @param listener
+     *            The listener to add.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Provides the projects that are currently registered by the scanner and the watcher.
+     *
+     * @return A copy of the project locations by project name.
+     */
+    public Map<String, File> getProjects() {
+        synchronized (projects) {
+            return Collections.unmodifiableMap(new TreeMap<>(projects));
+        }
+    }
+
+    /**
+     * Determines if the watcher still observes the base path.
+     *
+     * @return True if the watcher has neither been closed nor stopped by a failure.
+     */
+    public boolean isActive() {
+        return !closed;
+    }
+
+    /**
+     * Stops watching. Pending changes are discarded. The registered projects are kept.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+
+    private void closeAfterFailure(RuntimeException failure) {
+        try {
+            close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        notifyFailure(new StandaloneInitializationException("The watcher of " + basePath + " stopped", failure));
+    }
+
+    private void watch() {
+        Set<Path> changedDirectories = new TreeSet<>();
+        try {
+            while (!closed) {
+                var key = changedDirectories.isEmpty() ? watchService.take()
+                        : watchService.poll(debounce.toNanos(), TimeUnit.NANOSECONDS);
+                if (key == null) {
+                    // no further change within the debounce period
+                    update(changedDirectories);
+                    changedDirectories.clear();
+                } else {
+                    collectChanges(key, changedDirectories);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // the watcher has been closed
+        } catch (InterruptedException e) {
+            closed = true;
+            Thread.currentThread()
+                .interrupt();
+        } catch (RuntimeException e) {
+            // without its thread, the watcher must not appear active anymore
+            closeAfterFailure(e);
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changedDirectories) {
+        var directory = watchedDirectories.get(key);
+        for (var event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || directory == null) {
+                // events have been lost, so everything is scanned again
+                changedDirectories.add(basePath);
+                continue;
+            }
+            var child = directory.resolve((Path) event.context());
+            var name = child.getFileName()
+                .toString();
+            if (META_INF.equals(name) || EclipseProjectScanner.PROJECT_FILE_NAME.equals(name)) {
+                changedDirectories.add(directory);
+            } else if (MANIFEST_FILE_NAME.equals(name) && META_INF.equals(directory.getFileName()
+                .toString())) {
+                changedDirectories.add(directory.getParent());
+            } else if (event.kind() == ENTRY_DELETE
+                    || (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS))) {
+                // folders that are moved away or into the tree
+                changedDirectories.add(child);
+            }
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                registerCreatedDirectory(child);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void registerCreatedDirectory(Path directory) {
+        var relative = basePath.relativize(directory);
+        var depth = relative.getNameCount();
+        try {
+            if (META_INF.equals(directory.getFileName()
+                .toString()) && depth <= maxDepth + 1) {
+                register(directory);
+            } else if (depth <= maxDepth && !isExcluded(relative)) {
+                registerTree(directory, depth);
+            }
+        } catch (IOException e) {
+            // the directory has already been removed again, its removal is handled by its own event
+        }
+    }
+
+    private void registerTree(Path directory, int depth) throws IOException {
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        register(directory);
+        var metaInf = directory.resolve(META_INF);
+        if (Files.isDirectory(metaInf, LinkOption.NOFOLLOW_LINKS)) {
+            register(metaInf);
+        }
+        if (depth >= maxDepth) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path child : stream) {
+                var name = child.getFileName()
+                    .toString();
+                if (!META_INF.equals(name) && !isExcluded(child.getFileName())
+                        && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                    registerTree(child, depth + 1);
+                }
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        var key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        watchedDirectories.put(key, directory);
+    }
+
+    private boolean isExcluded(Path relative) {
+        for (Path segment : relative) {
+            for (PathMatcher matcher : excludes) {
+                if (matcher.matches(segment)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scans the changed subtrees again and publishes the differences to the registries.
+     */
+    private void update(Set<Path> changedDirectories) {
+        Map<String, File> registered = new LinkedHashMap<>();
+        Set<String> unregistered = new LinkedHashSet<>();
+        synchronized (projects) {
+            for (Path root : findScanRoots(changedDirectories)) {
+                Map<String, File> found;
+                try {
+                    found = scan(root);
+                } catch (IOException | RuntimeException e) {
+                    // the subtree is scanned again with its next change, e.g. once a project file
+                    // that has been read while being written is complete
+                    notifyFailure(new StandaloneInitializationException("Could not scan " + root, e));
+                    continue;
+                }
+                var rootFile = root.toFile();
+                for (var project : Map.copyOf(projects)
+                    .entrySet()) {
+                    var location = project.getValue();
+                    if (isWithin(location, rootFile) && !location.equals(found.get(project.getKey()))) {
+                        projects.remove(project.getKey());
+                        unregistered.add(project.getKey());
+                    }
+                }
+                for (var project : found.entrySet()) {
+                    var previous = projects.put(project.getKey(), project.getValue());
+                    if (!project.getValue()
+                        .equals(previous)) {
+                        registered.put(project.getKey(), project.getValue());
+                    }
+                }
+            }
+            unregistered.removeAll(registered.keySet());
+            if (registered.isEmpty() && unregistered.isEmpty()) {
+                return;
+            }
+            try {
+                publish(registered, unregistered);
+            } catch (StandaloneInitializationException | RuntimeException e) {
+                notifyFailure(e);
+                return;
+            }
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.projectsChanged(Collections.unmodifiableMap(registered),
+                        Collections.unmodifiableSet(unregistered));
+            } catch (RuntimeException e) {
+                notifyFailure(listener, e);
+            }
+        }
+    }
+
+    private void notifyFailure(Exception failure) {
+        for (Listener listener : listeners) {
+            notifyFailure(listener, failure);
+        }
+    }
+
+    private static void notifyFailure(Listener listener, Exception failure) {
+        try {
+            listener.updateFailed(failure);
+        } catch (RuntimeException e) {
+            // a failing listener must neither stop the watcher nor hide the failure from others
+        }
+    }
+
+    /**
+     * Determines the directories to scan. Nested changes are covered by the change of their
+     * ancestor. If projects are pruned, changes inside a project are covered by the project root,
+     * so nested projects stay hidden.
+     */
+    private Set<Path> findScanRoots(Set<Path> changedDirectories) {
+        Set<Path> knownLocations = new HashSet<>();
+        if (pruneProjects) {
+            for (File location : projects.values()) {
+                knownLocations.add(location.toPath());
+            }
+        }
+        Set<Path> roots = new TreeSet<>();
+        for (Path directory : changedDirectories) {
+            var root = directory;
+            for (var ancestor = directory.getParent(); pruneProjects && ancestor != null
+                    && ancestor.startsWith(basePath); ancestor = ancestor.getParent()) {
+                if (knownLocations.contains(ancestor)) {
+                    root = ancestor;
+                }
+            }
+            roots.add(root);
+        }
+        // ordered paths list ancestors before their descendants
+        Set<Path> result = new LinkedHashSet<>();
+        for (Path root : roots) {
+            if (result.stream()
+                .noneMatch(root::startsWith)) {
+                result.add(root);
+            }
+        }
+        return result;
+    }
+
+    private Map<String, File> scan(Path root) throws IOException {
+        var depth = basePath.relativize(root)
+            .getNameCount();
+        if (root.equals(basePath)) {
+            depth = 0;
+        }
+        if (depth > maxDepth || !Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+            return Collections.emptyMap();
+        }
+        var walker = new ProjectTreeWalker(maxDepth - depth, excludePatterns, pruneProjects);
+        Map<String, File> found = new HashMap<>();
+        for (var project : walker.findProjects(root)
+            .entrySet()) {
+            found.put(project.getKey(), project.getValue()
+                .getAbsoluteFile());
+        }
+        return found;
+    }
+
+    private static boolean isWithin(File location, File root) {
+        return location.toPath()
+            .startsWith(root.toPath());
+    }
+
+    private void publish(Map<String, File> registered, Set<String> unregistered)
+            throws StandaloneInitializationException {
+        var stage = RegistryStage.open(target);
+        var committed = false;
+        try {
+            for (String projectName : unregistered) {
+                RegistryStage.removePlatformResource(projectName);
+                RegistryStage.removeURIMapping(URI.createPlatformPluginURI("/" + projectName + "/", false));
+            }
+            for (var project : registered.entrySet()) {
+                new ProjectURIByLocationRegistration(project.getValue(), project.getKey()).init();
+            }
+            committed = true;
+            stage.commit();
+        } finally {
+            if (!committed) {
+                stage.discard();
+            }
+        }
+    }
+
+    /**
+     * Receives the changes published by a {@link ProjectWatcher}.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after a batch of changes has been published.
+         *
+         * @param registered
+         *            The projects that have been added or moved by their new location.
+         * @param unregistered
+         *            The names of the projects that have been removed.
+         */
+        void projectsChanged(Map<String, File> registered, Set<String> unregistered);
+
+        /**
+         * Called if changed projects could not be scanned or published, or if
+         * {@link #projectsChanged(Map, Set)} of this listener failed. The affected projects are
+         * updated with their next change. Also called if the watcher stopped because of an
+         * unexpected failure. The default implementation ignores the failure.
+         *
+         * @param failure
+         *            The cause of the failure.
+         */
+        default void updateFailed(Exception failure) {
+            // intentionally left blank
+        }
+    }
+
+}
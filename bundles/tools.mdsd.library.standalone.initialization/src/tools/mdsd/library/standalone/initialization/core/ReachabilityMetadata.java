@@ -0,0 +1,144 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageImpl;
+
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest.EntryType;
+
+/**
+ * GraalVM reachability metadata for the reflection and resources used by the initialization.
+ *
+ * Generated packages are resolved by reading the "eINSTANCE" field of their package interface,
+ * factory overrides and resource factories are instantiated by their default constructor. The
+ * classes are taken from the Ecore contributions of an {@link InitializationManifest} and from the
+ * generated packages in the global package registry. The resources cover the bundle descriptions
+ * and meta models read from the classpath.
+ *
+ * The metadata is written in the JSON format that is supported by all GraalVM releases for Java 17.
+ */
+final class ReachabilityMetadata {
+
+    private static final String INSTANCE_FIELD = "eINSTANCE";
+    private static final String METADATA_DIRECTORY = "META-INF/native-image/"
+            + "tools.mdsd.library.standalone.initialization";
+    private static final List<String> RESOURCE_PATTERNS = List.of("\\Qplugin.xml\\E", "\\Qplugin.properties\\E",
+            "\\QMETA-INF/MANIFEST.MF\\E", ".*\\.ecore", ".*\\.genmodel");
+
+    private final Map<String, Set<String>> fields = new TreeMap<>();
+    private final Set<String> constructors = new TreeSet<>();
+
+    /**
+     * Adds the classes of the Ecore contributions recorded in a manifest.
+     *
+     * @param manifest
+     *            The manifest.
+     */
+    void addManifest(InitializationManifest manifest) {
+        for (var entry : manifest.getEntries()) {
+            if (entry.getType() == EntryType.GENERATED_PACKAGE) {
+                addField(entry.getValue(), INSTANCE_FIELD);
+            } else if (entry.getType() == EntryType.FACTORY_OVERRIDE
+                    || entry.getType() == EntryType.EXTENSION_PARSER
+                    || entry.getType() == EntryType.PROTOCOL_PARSER
+                    || entry.getType() == EntryType.CONTENT_PARSER) {
+                constructors.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Adds the package interfaces of the generated packages resolved in the global package
+     * registry.
+     */
+    void addRegisteredPackages() {
+        List<Object> registered;
+        synchronized (EPackage.Registry.INSTANCE) {
+            registered = new ArrayList<>(EPackage.Registry.INSTANCE.values());
+        }
+        for (Object value : registered) {
+            if (value instanceof EPackage && value.getClass() != EPackageImpl.class) {
+                for (Class<?> packageInterface : value.getClass()
+                    .getInterfaces()) {
+                    if (packageInterface != EPackage.class && EPackage.class.isAssignableFrom(packageInterface)) {
+                        addField(packageInterface.getName(), INSTANCE_FIELD);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addField(String className, String fieldName) {
+        fields.computeIfAbsent(className, name -> new TreeSet<>())
+            .add(fieldName);
+    }
+
+    /**
+     * Writes the metadata below the given folder, so the folder can be added to the classpath of
+     * the native image build.
+     *
+     * @param directory
+     *            The folder.
+     * @return The folder holding the metadata files.
+     * @throws IOException
+     *             In case the files could not be written.
+     */
+    Path write(Path directory) throws IOException {
+        var metadataDirectory = directory.resolve(METADATA_DIRECTORY);
+        Files.createDirectories(metadataDirectory);
+        Files.writeString(metadataDirectory.resolve("reflect-config.json"), reflectionConfiguration());
+        Files.writeString(metadataDirectory.resolve("resource-config.json"), resourceConfiguration());
+        return metadataDirectory;
+    }
+
+    private String reflectionConfiguration() {
+        Set<String> classNames = new TreeSet<>(fields.keySet());
+        classNames.addAll(constructors);
+        List<String> entries = new ArrayList<>();
+        for (String className : classNames) {
+            var entry = new StringBuilder();
+            entry.append("  {\n    \"name\": ")
+                .append(quote(className));
+            var classFields = fields.get(className);
+            if (classFields != null) {
+                List<String> fieldEntries = new ArrayList<>();
+                for (String field : classFields) {
+                    fieldEntries.add("{ \"name\": " + quote(field) + " }");
+                }
+                entry.append(",\n    \"fields\": [ ")
+                    .append(String.join(", ", fieldEntries))
+                    .append(" ]");
+            }
+            if (constructors.contains(className)) {
+                entry.append(",\n    \"methods\": [ { \"name\": \"<init>\", \"parameterTypes\": [] } ]");
+            }
+            entries.add(entry.append("\n  }")
+                .toString());
+        }
+        return "[\n" + String.join(",\n", entries) + "\n]\n";
+    }
+
+    private static String resourceConfiguration() {
+        List<String> includes = new ArrayList<>();
+        for (String pattern : RESOURCE_PATTERNS) {
+            includes.add("      { \"pattern\": " + quote(pattern) + " }");
+        }
+        return "{\n  \"resources\": {\n    \"includes\": [\n" + String.join(",\n", includes) + "\n    ]\n  }\n}\n";
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\")
+            .replace("\"", "\\\"") + "\"";
+    }
+
+}
@@ -0,0 +1,251 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates artifacts that reduce the startup time of short-lived applications using the
+ * standalone initialization: an application class data sharing (AppCDS) archive of the classes
+ * loaded during a representative initialization and the GraalVM reachability metadata of the
+ * initialization.
+ *
+ * The generator runs the {@link StartupTraining} in a new virtual machine that dumps the loaded
+ * classes of EMF, Eclipse and the application into a dynamic archive when it exits. Afterwards,
+ * it can compare the startup time of the training with and without the archive. The archive is
+ * only used by virtual machines of the same Java version with the same classpath, which has to
+ * consist of archives only, because classes loaded from folders cannot be archived. Classes of
+ * signed archives, e.g. of some Eclipse bundles, are not archived either. Start the
+ * application with {@code -XX:SharedArchiveFile=<archive>} to use it.
+ *
+ * The generator can be run as a standalone tool, see {@link #main(String[])}.
+ */
+public class StartupArtifactGenerator {
+
+    /**
+     * The file name of the generated archive.
+     */
+    public static final String ARCHIVE_FILE_NAME = "startup.jsa";
+    /**
+     * The number of startups per variant measured by default.
+     */
+    public static final int DEFAULT_COMPARISON_RUNS = 5;
+
+    private final Path outputDirectory;
+    private String classpath = System.getProperty("java.class.path");
+    private final List<String> javaOptions = new ArrayList<>();
+    private final List<String> trainingArguments = new ArrayList<>();
+
+    /**
+     * Constructs the generator.
+     *
+     * @param outputDirectory
+     *            The folder to write the archive, the metadata and the comparison to.
+     */
+    public StartupArtifactGenerator(Path outputDirectory) {
+        this.outputDirectory = outputDirectory.toAbsolutePath();
+    }
+
+    /**
+     * Sets the classpath of the training. The default is the classpath of the running virtual
+     * machine.
+     *
+     * @param entries
+     *            The classpath entries separated by the platform path separator.
+     * @return Modified generator instance.
+     */
+    public StartupArtifactGenerator useClasspath(String entries) {
+        this.classpath = entries;
+        return this;
+    }
+
+    /**
+     * Adds options of the virtual machines running the training, e.g. the heap size of the
+     * application.
+     *
+     * @param options
+     *            The options.
+     * @return Modified generator instance.
+     */
+    public StartupArtifactGenerator addJavaOptions(Collection<String> options) {
+        javaOptions.addAll(options);
+        return this;
+    }
+
+    /**
+     * Adds arguments of the {@link StartupTraining}, which describe the representative
+     * initialization.
+     *
+     * @param arguments
+     *            The arguments.
+     * @return Modified generator instance.
+     */
+    public StartupArtifactGenerator addTrainingArguments(Collection<String> arguments) {
+        trainingArguments.addAll(arguments);
+        return this;
+    }
+
+    /**
+     * Runs the training and generates the archive and the reachability metadata.
+     *
+     * @return The generated archive.
+     * @throws IOException
+     *             In case the training failed or the archive has not been created.
+     */
+    public Path generate() throws IOException {
+        Files.createDirectories(outputDirectory);
+        var archive = outputDirectory.resolve(ARCHIVE_FILE_NAME);
+        Files.deleteIfExists(archive);
+        List<String> arguments = new ArrayList<>(trainingArguments);
+        arguments.add("--metadata");
+        arguments.add(outputDirectory.toString());
+        var exitCode = run(List.of("-XX:ArchiveClassesAtExit=" + archive), arguments, true);
+        if (exitCode != 0) {
+            throw new IOException("The training failed with exit code " + exitCode + ".");
+        }
+        if (!Files.isRegularFile(archive)) {
+            throw new IOException("The virtual machine did not create the archive " + archive
+                    + ". Class data sharing requires a classpath consisting of archives.");
+        }
+        return archive;
+    }
+
+    /**
+     * Measures the startup time of the training with and without the archive and writes the
+     * comparison to the output folder. The variants are run alternately.
+     *
+     * @param runs
+     *            The number of startups per variant.
+     * @return The comparison.
+     * @throws IOException
+     *             In case a training failed.
+     */
+    public String compareStartup(int runs) throws IOException {
+        if (runs < 1) {
+            throw new IllegalArgumentException("At least one run per variant is required.");
+        }
+        var archive = outputDirectory.resolve(ARCHIVE_FILE_NAME);
+        List<Duration> withoutArchive = new ArrayList<>();
+        List<Duration> withArchive = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            withoutArchive.add(measure(List.of("-Xshare:auto")));
+            withArchive.add(measure(List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto")));
+        }
+        var medianWithout = median(withoutArchive);
+        var medianWith = median(withArchive);
+        var comparison = String.format(
+                "Startup of the training (median of %d runs):%n  without archive: %6d ms%n  with archive:    %6d ms"
+                        + "%n  saved:           %6d ms (%.1f %%)%n",
+                runs, medianWithout.toMillis(), medianWith.toMillis(), medianWithout.minus(medianWith)
+                    .toMillis(),
+                100.0 * (medianWithout.toNanos() - medianWith.toNanos()) / medianWithout.toNanos());
+        Files.writeString(outputDirectory.resolve("startup-comparison.txt"), comparison);
+        return comparison;
+    }
+
+    private Duration measure(List<String> options) throws IOException {
+        var start = System.nanoTime();
+        var exitCode = run(options, trainingArguments, false);
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        if (exitCode != 0) {
+            throw new IOException("The training failed with exit code " + exitCode + ".");
+        }
+        return elapsed;
+    }
+
+    private int run(List<String> options, List<String> arguments, boolean showOutput) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java")
+            .toString());
+        command.addAll(javaOptions);
+        command.addAll(options);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(StartupTraining.class.getName());
+        command.addAll(arguments);
+        var builder = new ProcessBuilder(command);
+        if (showOutput) {
+            builder.inheritIO();
+        } else {
+            builder.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        }
+        try {
+            return builder.start()
+                .waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IOException("Interrupted while waiting for the training.", e);
+        }
+    }
+
+    private static Duration median(List<Duration> durations) {
+        List<Duration> sorted = new ArrayList<>(durations);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Runs the generator.
+     *
+     * Usage: {@code <output folder> [--classpath <entries>] [--java-option <option>]... [--runs
+     * <count>] [-- <training arguments>...]}
+     *
+     * Without the classpath option, the classpath of the running JVM is used. The training
+     * arguments are passed to the {@link StartupTraining}. The startup comparison is skipped if
+     * the number of runs is zero.
+     *
+     * @param args
+     *            The command line arguments.
+     * @throws IOException
+     *             In case the training failed.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: <output folder> [--classpath <entries>] "
+                    + "[--java-option <option>]... [--runs <count>] [-- <training arguments>...]");
+        }
+        var generator = new StartupArtifactGenerator(Path.of(args[0]));
+        var runs = DEFAULT_COMPARISON_RUNS;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+            case "--classpath":
+                generator.useClasspath(argument(args, ++i));
+                break;
+            case "--java-option":
+                generator.addJavaOptions(List.of(argument(args, ++i)));
+                break;
+            case "--runs":
+                runs = Integer.parseInt(argument(args, ++i));
+                break;
+            case "--":
+                generator.addTrainingArguments(Arrays.asList(args)
+                    .subList(i + 1, args.length));
+                i = args.length;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+        var archive = generator.generate();
+        System.out.println("Generated " + archive + ", start the application with -XX:SharedArchiveFile=" + archive);
+        if (runs > 0) {
+            System.out.print(generator.compareStartup(runs));
+        }
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of argument " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
@@ -0,0 +1,132 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializerBuilder;
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest;
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
+
+/**
+ * Runs a representative initialization, e.g. to record the classes loaded during the
+ * initialization in a class data sharing archive, see {@link StartupArtifactGenerator}.
+ *
+ * The initialization is configured by command line arguments that correspond to the options of
+ * the {@link StandaloneInitializerBuilder}. Optionally, the GraalVM reachability metadata of the
+ * initialization is written after the initialization finished.
+ */
+public final class StartupTraining {
+
+    private StartupTraining() {
+        // entry point only
+    }
+
+    /**
+     * Runs the initialization.
+     *
+     * Usage: {@code [--workspace <folder>]... [--project <name>=<folder>]... [--meta-model
+     * <project>/<path>]... [--manifest <file>] [--no-classpath-detection] [--parallel] [--task
+     * <class>]... [--metadata <folder>]}
+     *
+     * The registrations are executed in the order of the arguments after the classpath detection.
+     * Tasks given by their class are instantiated by their public default constructor. The
+     * metadata covers the Ecore contributions of the classpath or the manifest as well as all
+     * generated packages registered by the initialization.
+     *
+     * @param args
+     *            The command line arguments.
+     * @throws StandaloneInitializationException
+     *             In case the initialization failed.
+     * @throws IOException
+     *             In case the metadata could not be written.
+     */
+    public static void main(String[] args) throws StandaloneInitializationException, IOException {
+        var builder = StandaloneInitializerBuilder.builder();
+        Path manifest = null;
+        Path metadataDirectory = null;
+        var classpathDetection = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--workspace":
+                builder.addCustomTask(new EclipseProjectScanner(Path.of(argument(args, ++i))));
+                break;
+            case "--project":
+                var project = argument(args, ++i).split("=", 2);
+                if (project.length != 2) {
+                    throw new IllegalArgumentException("Projects have to be given as <name>=<folder>.");
+                }
+                builder.addCustomTask(new ProjectURIByLocationRegistration(new File(project[1]), project[0]));
+                break;
+            case "--meta-model":
+                var metaModel = argument(args, ++i).split("/", 2);
+                if (metaModel.length != 2) {
+                    throw new IllegalArgumentException("Meta models have to be given as <project>/<path>.");
+                }
+                builder.addCustomTask(new MetaModelRegistrationTask(metaModel[0], metaModel[1]));
+                break;
+            case "--manifest":
+                manifest = Path.of(argument(args, ++i));
+                builder.useInitializationManifest(manifest);
+                break;
+            case "--no-classpath-detection":
+                classpathDetection = false;
+                builder.useEcoreClasspathDetection(false);
+                break;
+            case "--parallel":
+                builder.useParallelExecution(true);
+                break;
+            case "--task":
+                builder.addCustomTask(instantiate(argument(args, ++i)));
+                break;
+            case "--metadata":
+                metadataDirectory = Path.of(argument(args, ++i));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+        builder.build()
+            .init();
+
+        if (metadataDirectory != null) {
+            var metadata = new ReachabilityMetadata();
+            if (manifest != null) {
+                metadata.addManifest(InitializationManifest.read(manifest));
+            } else if (classpathDetection) {
+                var classpath = Arrays.stream(System.getProperty("java.class.path")
+                    .split(File.pathSeparator))
+                    .filter(entry -> !entry.isBlank())
+                    .map(entry -> Path.of(entry.trim()))
+                    .collect(Collectors.toList());
+                metadata.addManifest(new InitializationManifestGenerator().addClasspathEntries(classpath)
+                    .generate());
+            }
+            metadata.addRegisteredPackages();
+            metadata.write(metadataDirectory);
+        }
+    }
+
+    private static InitializationTask instantiate(String className) {
+        try {
+            return Class.forName(className)
+                .asSubclass(InitializationTask.class)
+                .getDeclaredConstructor()
+                .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Could not create the task " + className, e);
+        }
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of argument " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
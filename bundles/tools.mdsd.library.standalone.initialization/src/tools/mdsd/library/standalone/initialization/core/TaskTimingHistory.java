@@ -0,0 +1,330 @@
+package tools.mdsd.library.standalone.initialization.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import tools.mdsd.library.standalone.initialization.InitializationListener;
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+
+/**
+ * Listener that records the execution time of every task in a local file and reports tasks whose
+ * execution time changed significantly compared to earlier runs.
+ *
+ * The history keeps an estimate per task, which follows the recorded times with an exponentially
+ * weighted average, so a single outlier does not replace the estimate. Tasks are identified by
+ * their identity key or, if they do not have one, by their description. Skipped and failed tasks
+ * are not recorded.
+ *
+ * Parallel initializers use the estimates to start the tasks on the longest remaining chain of
+ * dependencies first, see
+ * {@link tools.mdsd.library.standalone.initialization.StandaloneInitializerBuilder#useTimingHistory(Path)}.
+ */
+public class TaskTimingHistory implements InitializationListener {
+
+    /**
+     * The factor by which the execution time of a task has to differ from its estimate to be
+     * reported by default.
+     */
+    public static final double DEFAULT_CHANGE_FACTOR = 2.0;
+
+    /**
+     * Version 2 stores the keys as UTF-8 bytes with a length prefix of four bytes, because the
+     * modified UTF-8 of {@link DataOutputStream#writeUTF(String)} is limited to 65535 bytes.
+     */
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * Differences below this threshold are not reported regardless of the factor, because short
+     * tasks vary a lot relative to their execution time.
+     */
+    private static final long MIN_REPORTED_DIFFERENCE_NANOS = Duration.ofMillis(10)
+        .toNanos();
+    /**
+     * The weight of a new measurement in the estimate.
+     */
+    private static final double NEW_MEASUREMENT_WEIGHT = 0.5;
+
+    private final Path historyFile;
+    private final Consumer<String> output;
+    private final double changeFactor;
+    private final Map<String, Long> estimates = new ConcurrentHashMap<>();
+    private final Map<String, Long> measurements = new ConcurrentHashMap<>();
+    private volatile List<TimingChange> changes = Collections.emptyList();
+
+    /**
+     * Constructs a history that prints significant changes to standard error.
+     *
+     * @param historyFile
+     *            The file to store the history in. It is created if it does not exist.
+     */
+    public TaskTimingHistory(Path historyFile) {
+        this(historyFile, System.err::println, DEFAULT_CHANGE_FACTOR);
+    }
+
+    /**
+     * Constructs a history.
+     *
+     * @param historyFile
+     *            The file to store the history in. It is created if it does not exist.
+     * @param output
+     *            Receives the report of significant changes when an initialization finished. Pass
+     *            null to only record the changes, see {@link #getChanges()}.
+     * @param changeFactor
+     *            The factor by which the execution time of a task has to differ from its estimate
+     *            to be reported, e.g. 2 for reporting tasks that became twice as slow or fast.
+     */
+    public TaskTimingHistory(Path historyFile, Consumer<String> output, double changeFactor) {
+        if (!(changeFactor > 1)) {
+            throw new IllegalArgumentException("The change factor has to be greater than one.");
+        }
+        this.historyFile = historyFile;
+        this.output = output;
+        this.changeFactor = changeFactor;
+        load();
+    }
+
+    /**
+     * Provides the estimated execution time of a task.
+     *
+     * @param task
+     *            The task.
+     * @return The estimate or an empty optional if the task has not been recorded yet.
+     */
+    public Optional<Duration> getEstimate(InitializationTask task) {
+        var estimate = estimates.get(keyOf(task));
+        return estimate == null ? Optional.empty() : Optional.of(Duration.ofNanos(estimate));
+    }
+
+    /**
+     * Provides the estimated execution time of a task in nanoseconds.
+     *
+     * @param task
+     *            The task.
+     * @return The estimate or a negative value if the task has not been recorded yet.
+     */
+    public long estimateNanos(InitializationTask task) {
+        return estimates.getOrDefault(keyOf(task), -1L);
+    }
+
+    /**
+     * Provides the tasks of the last initialization whose execution time differed significantly
+     * from their estimate.
+     *
+     * @return The changes ordered by descending difference.
+     */
+    public List<TimingChange> getChanges() {
+        return changes;
+    }
+
+    @Override
+    public void initializationStarted(int taskCount) {
+        measurements.clear();
+        changes = Collections.emptyList();
+    }
+
+    @Override
+    public void taskFinished(InitializationTask task, Duration elapsed) {
+        measurements.put(keyOf(task), elapsed.toNanos());
+    }
+
+    @Override
+    public synchronized void initializationFinished(Duration elapsed, Throwable failure) {
+        if (measurements.isEmpty()) {
+            return;
+        }
+        List<TimingChange> detected = new ArrayList<>();
+        for (var measurement : measurements.entrySet()) {
+            var current = measurement.getValue();
+            var previous = estimates.get(measurement.getKey());
+            if (previous == null) {
+                estimates.put(measurement.getKey(), current);
+                continue;
+            }
+            if (isSignificant(previous, current)) {
+                detected.add(new TimingChange(measurement.getKey(), Duration.ofNanos(previous),
+                        Duration.ofNanos(current)));
+            }
+            estimates.put(measurement.getKey(),
+                    Math.round(previous + NEW_MEASUREMENT_WEIGHT * (current - previous)));
+        }
+        detected.sort(Comparator.comparing((TimingChange change) -> change.getDifference()
+            .abs())
+            .reversed());
+        changes = Collections.unmodifiableList(detected);
+        save();
+        if (output != null && !detected.isEmpty()) {
+            output.accept(getReport());
+        }
+    }
+
+    /**
+     * Formats the changes of the last initialization.
+     *
+     * @return The report consisting of one line for the initialization and one line for each
+     *         changed task.
+     */
+    public String getReport() {
+        var currentChanges = changes;
+        var report = new StringBuilder();
+        report.append(String.format("%d task(s) changed their execution time significantly.", currentChanges.size()));
+        for (TimingChange change : currentChanges) {
+            var previousMillis = change.getPrevious()
+                .toMillis();
+            var currentMillis = change.getCurrent()
+                .toMillis();
+            report.append(String.format("%n%8d ms -> %8d ms  %s", previousMillis, currentMillis, change.getTask()));
+        }
+        return report.toString();
+    }
+
+    private boolean isSignificant(long previous, long current) {
+        if (Math.abs(current - previous) < MIN_REPORTED_DIFFERENCE_NANOS) {
+            return false;
+        }
+        return current >= previous * changeFactor || previous >= current * changeFactor;
+    }
+
+    private static String keyOf(InitializationTask task) {
+        return task.getIdentityKey()
+            .orElseGet(task::getDescription);
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(historyFile)) {
+            return;
+        }
+        Map<String, Long> loaded = new HashMap<>();
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(historyFile)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            var count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                loaded.put(readKey(in), in.readLong());
+            }
+        } catch (IOException e) {
+            // a damaged history is simply recorded again
+            return;
+        }
+        estimates.putAll(loaded);
+    }
+
+    private void save() {
+        try {
+            var parent = historyFile.toAbsolutePath()
+                .getParent();
+            Files.createDirectories(parent);
+            var tempFile = Files.createTempFile(parent, historyFile.getFileName()
+                .toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    Map<String, Long> snapshot = new HashMap<>(estimates);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(snapshot.size());
+                    for (var estimate : snapshot.entrySet()) {
+                        writeKey(out, estimate.getKey());
+                        out.writeLong(estimate.getValue());
+                    }
+                }
+                try {
+                    Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // the history only guides the scheduling, so failing to write it must not break the
+            // initialization
+        }
+    }
+
+    private static String readKey(DataInputStream in) throws IOException {
+        var length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid key length " + length);
+        }
+        // reads the bytes that are available instead of allocating a damaged length up front
+        var bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeKey(DataOutputStream out, String key) throws IOException {
+        var bytes = key.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * A significant change of the execution time of a task.
+     */
+    public static final class TimingChange {
+
+        private final String task;
+        private final Duration previous;
+        private final Duration current;
+
+        TimingChange(String task, Duration previous, Duration current) {
+            this.task = task;
+            this.previous = previous;
+            this.current = current;
+        }
+
+        /**
+         * @return The identity key or the description of the task.
+         */
+        public String getTask() {
+            return task;
+        }
+
+        /**
+         * @return The estimated execution time before the last initialization.
+         */
+        public Duration getPrevious() {
+            return previous;
+        }
+
+        /**
+         * @return The execution time in the last initialization.
+         */
+        public Duration getCurrent() {
+            return current;
+        }
+
+        /**
+         * @return The difference between the current and the previous execution time.
+         */
+        public Duration getDifference() {
+            return current.minus(previous);
+        }
+
+        @Override
+        public String toString() {
+            return task + ": " + previous.toMillis() + " ms -> " + current.toMillis() + " ms";
+        }
+    }
+
+}
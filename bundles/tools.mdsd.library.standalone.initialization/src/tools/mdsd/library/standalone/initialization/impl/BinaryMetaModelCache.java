@@ -0,0 +1,171 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+
+/**
+ * Cache of meta models in the binary resource format of EMF.
+ * 
+ * Entries are stored per source {@link URI} in the cache directory and are tagged with the hash of
+ * the source contents. If the hash of the source does not match, the source is loaded as usual
+ * and the cache entry is replaced.
+ */
+public class BinaryMetaModelCache {
+
+    private static final String FORMAT = "tools.mdsd.library.standalone.initialization.metamodel.v1";
+    private static final String FILE_EXTENSION = ".emfbin";
+
+    private final Path cacheDirectory;
+
+    /**
+     * Constructs the cache.
+     * 
+     * @param cacheDirectory
+     *            The directory holding the cache entries. It is created if it does not exist.
+     */
+    public BinaryMetaModelCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Gets the directory holding the cache entries.
+     * 
+     * @return The cache directory.
+     */
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Loads the resource with the given {@link URI} into the given resource set. The resource is
+     * loaded from the cache if the cache entry matches the source contents.
+     * 
+     * Regardless of the cache state, the loaded resource is a {@link BinaryResourceImpl} with the
+     * given URI, so references into the resource are resolved the same way in both cases.
+     * 
+     * @param resourceSet
+     *            The resource set to load the resource into.
+     * @param uri
+     *            The URI of the source.
+     * @return The loaded resource.
+     * @throws IOException
+     *             In case the source could not be read or parsed.
+     */
+    public Resource getResource(ResourceSet resourceSet, URI uri) throws IOException {
+        var existing = resourceSet.getResource(uri, false);
+        if (existing != null && existing.isLoaded()) {
+            return existing;
+        }
+
+        byte[] source;
+        try (var in = resourceSet.getURIConverter()
+            .createInputStream(uri)) {
+            source = in.readAllBytes();
+        }
+        var contentHash = hash(source);
+        var cacheFile = cacheDirectory.resolve(hash(uri.toString()
+            .getBytes(StandardCharsets.UTF_8)) + FILE_EXTENSION);
+
+        var cached = loadCached(resourceSet, uri, contentHash, cacheFile);
+        if (cached != null) {
+            return cached;
+        }
+
+        var sourceResource = resourceSet.createResource(uri);
+        if (sourceResource == null) {
+            throw new IOException("There is no resource factory registered for " + uri);
+        }
+        sourceResource.load(new ByteArrayInputStream(source), resourceSet.getLoadOptions());
+
+        // replace the source resource by its binary counterpart
+        var binaryResource = new BinaryResourceImpl(uri);
+        binaryResource.getContents()
+            .addAll(new ArrayList<>(sourceResource.getContents()));
+        resourceSet.getResources()
+            .remove(sourceResource);
+        resourceSet.getResources()
+            .add(binaryResource);
+        store(binaryResource, uri, contentHash, cacheFile);
+        return binaryResource;
+    }
+
+    private static Resource loadCached(ResourceSet resourceSet, URI uri, String contentHash, Path cacheFile) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        // binary resources refer to the Ecore package by its namespace URI, so it has to be registered
+        EcorePackage.eINSTANCE.eClass();
+        var resource = new BinaryResourceImpl(uri);
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (!FORMAT.equals(in.readUTF()) || !uri.toString()
+                .equals(in.readUTF()) || !contentHash.equals(in.readUTF())) {
+                return null;
+            }
+            resourceSet.getResources()
+                .add(resource);
+            resource.load(in, resourceSet.getLoadOptions());
+            return resource;
+        } catch (IOException | RuntimeException e) {
+            // an outdated or damaged cache entry is replaced by loading the source
+            resourceSet.getResources()
+                .remove(resource);
+            return null;
+        }
+    }
+
+    private void store(Resource resource, URI uri, String contentHash, Path cacheFile) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            var tempFile = Files.createTempFile(cacheDirectory, cacheFile.getFileName()
+                .toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    out.writeUTF(FORMAT);
+                    out.writeUTF(uri.toString());
+                    out.writeUTF(contentHash);
+                    resource.save(out, null);
+                }
+                try {
+                    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // the cache is optional, so failing to write it must not break the initialization
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of()
+                .formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every Java platform.", e);
+        }
+    }
+
+}
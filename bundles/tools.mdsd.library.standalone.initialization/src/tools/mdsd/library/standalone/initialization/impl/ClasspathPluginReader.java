@@ -0,0 +1,255 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+
+import org.eclipse.emf.common.util.URI;
+
+import tools.mdsd.library.standalone.initialization.impl.InitializationManifest.EntryType;
+import tools.mdsd.library.standalone.initialization.impl.PluginXmlReader.EcoreContribution;
+
+/**
+ * Reads the Ecore contributions of a bundle on the classpath in the same way as
+ * {@link org.eclipse.emf.ecore.plugin.EcorePlugin.ExtensionProcessor} and records them as entries
+ * of an {@link InitializationManifest}.
+ *
+ * A classpath entry is considered a bundle if it contains a plugin.xml and a Jar-File Manifest with
+ * a symbolic name. For folders, the plugin.xml is also looked up in the parent and grandparent
+ * folder to support output folders such as "bin" or "target/classes". Locations given relative to
+ * the bundle are resolved against its platform plugin URI.
+ */
+public final class ClasspathPluginReader {
+
+    private static final String PLUGIN_XML = "plugin.xml";
+
+    private ClasspathPluginReader() {
+        // utility class
+    }
+
+    /**
+     * Reads a classpath entry and adds its registrations to the given manifest.
+     *
+     * @param classpathEntry
+     *            A folder or an archive on the classpath.
+     * @param manifest
+     *            The manifest to add the registrations to.
+     * @return True if the classpath entry is a bundle with a plugin.xml, false otherwise.
+     * @throws IOException
+     *             In case the classpath entry could not be read.
+     */
+    public static boolean read(Path classpathEntry, InitializationManifest manifest) throws IOException {
+        var bundle = readBundle(classpathEntry);
+        bundle.ifPresent(pluginBundle -> addBundle(pluginBundle, contribution -> true, manifest));
+        return bundle.isPresent();
+    }
+
+    /**
+     * Adds the location and the selected contributions of a bundle to the given manifest.
+     *
+     * @param bundle
+     *            The bundle to add.
+     * @param contributionFilter
+     *            Selects the contributions to add.
+     * @param manifest
+     *            The manifest to add the registrations to.
+     */
+    public static void addBundle(PluginBundle bundle, Predicate<EcoreContribution> contributionFilter,
+            InitializationManifest manifest) {
+        manifest.add(EntryType.PLUGIN, bundle.symbolicName, bundle.location.toString());
+        var pluginURI = URI.createPlatformPluginURI(bundle.symbolicName + "/", true);
+        for (EcoreContribution contribution : bundle.contributions) {
+            if (contributionFilter.test(contribution)) {
+                addContribution(contribution, pluginURI, manifest);
+            }
+        }
+    }
+
+    /**
+     * Reads the symbolic name and the Ecore contributions of a bundle.
+     *
+     * @param classpathEntry
+     *            A folder or an archive on the classpath.
+     * @return The bundle or an empty optional if the classpath entry does not contain a plugin.xml
+     *         and a symbolic name.
+     * @throws IOException
+     *             In case the classpath entry could not be read.
+     */
+    public static Optional<PluginBundle> readBundle(Path classpathEntry) throws IOException {
+        if (Files.isDirectory(classpathEntry)) {
+            return readFolder(classpathEntry);
+        }
+        if (Files.isRegularFile(classpathEntry)) {
+            return readArchive(classpathEntry);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<PluginBundle> readFolder(Path folder) throws IOException {
+        var root = folder;
+        for (int i = 0; i < 3 && root != null; i++, root = root.getParent()) {
+            var pluginXml = root.resolve(PLUGIN_XML);
+            if (!Files.isRegularFile(pluginXml)) {
+                continue;
+            }
+            var manifest = root.resolve(JarFile.MANIFEST_NAME);
+            if (!Files.isRegularFile(manifest)) {
+                return Optional.empty();
+            }
+            var symbolicName = ProjectMetadataReader.readBundleSymbolicName(manifest);
+            if (symbolicName.isEmpty()) {
+                return Optional.empty();
+            }
+            List<EcoreContribution> contributions;
+            try (var in = Files.newInputStream(pluginXml)) {
+                contributions = PluginXmlReader.readEcoreContributions(in);
+            }
+            var location = URI.createFileURI(root.toAbsolutePath()
+                .toString())
+                .appendSegment("");
+            return Optional.of(new PluginBundle(symbolicName.get(), location, contributions));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<PluginBundle> readArchive(Path archive) throws IOException {
+        try (var jar = new JarFile(archive.toFile(), false)) {
+            var pluginXml = jar.getEntry(PLUGIN_XML);
+            var manifest = jar.getEntry(JarFile.MANIFEST_NAME);
+            if (pluginXml == null || manifest == null) {
+                return Optional.empty();
+            }
+            Optional<String> symbolicName;
+            try (var in = jar.getInputStream(manifest)) {
+                symbolicName = ProjectMetadataReader.readBundleSymbolicName(in);
+            }
+            if (symbolicName.isEmpty()) {
+                return Optional.empty();
+            }
+            List<EcoreContribution> contributions;
+            try (var in = jar.getInputStream(pluginXml)) {
+                contributions = PluginXmlReader.readEcoreContributions(in);
+            }
+            var location = URI.createURI("archive:" + URI.createFileURI(archive.toAbsolutePath()
+                .toString()) + "!/");
+            return Optional.of(new PluginBundle(symbolicName.get(), location, contributions));
+        }
+    }
+
+    /**
+     * Adds the registration described by a contribution to the given manifest. Contributions to
+     * extension points that cannot be recorded are ignored.
+     *
+     * @param contribution
+     *            The contribution of a bundle.
+     * @param pluginURI
+     *            The platform plugin URI of the bundle used to resolve relative locations.
+     * @param manifest
+     *            The manifest to add the registration to.
+     */
+    public static void addContribution(EcoreContribution contribution, URI pluginURI,
+            InitializationManifest manifest) {
+        switch (contribution.getExtensionPoint()) {
+        case "generated_package":
+            add(manifest, EntryType.GENERATED_PACKAGE, contribution, "uri", "class",
+                    resolve(contribution.getAttribute("genModel"), pluginURI));
+            break;
+        case "dynamic_package":
+            var location = resolve(contribution.getAttribute("location"), pluginURI);
+            if (contribution.getAttribute("uri") != null && location != null) {
+                manifest.add(EntryType.DYNAMIC_PACKAGE, contribution.getAttribute("uri"), location);
+            }
+            break;
+        case "factory_override":
+            add(manifest, EntryType.FACTORY_OVERRIDE, contribution, "uri", "class", null);
+            break;
+        case "extension_parser":
+            add(manifest, EntryType.EXTENSION_PARSER, contribution, "type", "class", null);
+            break;
+        case "protocol_parser":
+            add(manifest, EntryType.PROTOCOL_PARSER, contribution, "protocolName", "class", null);
+            break;
+        case "content_parser":
+            add(manifest, EntryType.CONTENT_PARSER, contribution, "contentTypeIdentifier", "class", null);
+            break;
+        case "uri_mapping":
+            var target = resolve(contribution.getAttribute("target"), pluginURI);
+            if (contribution.getAttribute("source") != null && target != null) {
+                manifest.add(EntryType.URI_MAPPING, contribution.getAttribute("source"), target);
+            }
+            break;
+        default:
+            // delegates, content handlers and validators are not recorded
+            break;
+        }
+    }
+
+    private static void add(InitializationManifest manifest, EntryType type, EcoreContribution contribution,
+            String keyAttribute, String valueAttribute, String detail) {
+        var key = contribution.getAttribute(keyAttribute);
+        var value = contribution.getAttribute(valueAttribute);
+        if (key != null && value != null) {
+            manifest.add(type, key, value, detail);
+        }
+    }
+
+    private static String resolve(String location, URI pluginURI) {
+        if (location == null) {
+            return null;
+        }
+        var uri = URI.createURI(location);
+        return (uri.isRelative() ? uri.resolve(pluginURI) : uri).toString();
+    }
+
+    /**
+     * The Ecore contributions of a bundle on the classpath.
+     */
+    public static final class PluginBundle {
+
+        private final String symbolicName;
+        private final URI location;
+        private final List<EcoreContribution> contributions;
+
+        PluginBundle(String symbolicName, URI location, List<EcoreContribution> contributions) {
+            this.symbolicName = symbolicName;
+            this.location = location;
+            this.contributions = List.copyOf(contributions);
+        }
+
+        public String getSymbolicName() {
+            return symbolicName;
+        }
+
+        /**
+         * @return The location of the bundle root with a trailing separator.
+         */
+        public URI getLocation() {
+            return location;
+        }
+
+        public List<EcoreContribution> getContributions() {
+            return contributions;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PluginBundle)) {
+                return false;
+            }
+            var other = (PluginBundle) obj;
+            return symbolicName.equals(other.symbolicName) && location.equals(other.location)
+                    && contributions.equals(other.contributions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbolicName, location, contributions);
+        }
+    }
+
+}
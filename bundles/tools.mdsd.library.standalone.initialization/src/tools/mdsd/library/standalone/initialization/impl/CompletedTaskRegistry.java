@@ -0,0 +1,192 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+
+/**
+ * Remembers the identity keys of the tasks that completed in the running process.
+ *
+ * A key is claimed before its task is executed. Concurrent initializers that execute a task with
+ * the same key wait for the claiming task instead of executing their own one. If the claiming task
+ * fails, the key is released again and the waiting initializers execute their tasks themselves.
+ */
+public final class CompletedTaskRegistry {
+
+    private static final Map<String, CompletableFuture<Void>> EXECUTIONS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Set<String>> RUNNING_KEYS = ThreadLocal.withInitial(HashSet::new);
+
+    private CompletedTaskRegistry() {
+        // utility class
+    }
+
+    /**
+     * Executes a task unless a task with the same key already completed.
+     *
+     * @param key
+     *            The identity key of the task.
+     * @param forceRefresh
+     *            True to execute the task even if the key already completed.
+     * @param execution
+     *            Executes the task.
+     * @return True if the task has been executed, false if it has been skipped.
+     * @throws StandaloneInitializationException
+     *             In case the task failed or the thread has been interrupted while waiting for a
+     *             concurrent execution of the key.
+     */
+    public static boolean runOnce(String key, boolean forceRefresh, TaskExecution execution)
+            throws StandaloneInitializationException {
+        if (RUNNING_KEYS.get()
+            .contains(key)) {
+            // a task executes a nested initializer with the same task, which must not wait for itself
+            execution.run();
+            return true;
+        }
+        while (true) {
+            var claim = new CompletableFuture<Void>();
+            var previous = forceRefresh ? EXECUTIONS.put(key, claim) : EXECUTIONS.putIfAbsent(key, claim);
+            if (previous != null) {
+                var previousSucceeded = await(previous, key);
+                if (!forceRefresh) {
+                    if (previousSucceeded) {
+                        return false;
+                    }
+                    // the previous execution failed and released its claim, so try to claim it again
+                    continue;
+                }
+            }
+            execute(key, claim, execution);
+            return true;
+        }
+    }
+
+    private static void execute(String key, CompletableFuture<Void> claim, TaskExecution execution)
+            throws StandaloneInitializationException {
+        RUNNING_KEYS.get()
+            .add(key);
+        try {
+            execution.run();
+            claim.complete(null);
+        } catch (StandaloneInitializationException | RuntimeException | Error e) {
+            EXECUTIONS.remove(key, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        } finally {
+            RUNNING_KEYS.get()
+                .remove(key);
+        }
+    }
+
+    private static boolean await(CompletableFuture<Void> execution, String key)
+            throws StandaloneInitializationException {
+        try {
+            execution.get();
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new StandaloneInitializationException(
+                    "Interrupted while waiting for the concurrent execution of the task " + key + ".", e);
+        }
+    }
+
+    /**
+     * Determines if a task with the given key completed successfully.
+     *
+     * @param key
+     *            The identity key.
+     * @return True if the key completed.
+     */
+    public static boolean isCompleted(String key) {
+        var execution = EXECUTIONS.get(key);
+        return execution != null && execution.isDone() && !execution.isCompletedExceptionally();
+    }
+
+    /**
+     * Provides the keys of all tasks that completed successfully.
+     *
+     * @return An unmodifiable snapshot of the keys.
+     */
+    public static Set<String> getCompletedKeys() {
+        return Collections.unmodifiableSet(EXECUTIONS.keySet()
+            .stream()
+            .filter(CompletedTaskRegistry::isCompleted)
+            .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Replaces the completed keys, e.g. because the registrations of the tasks have been restored
+     * from a snapshot. Keys of tasks that are currently executed are not affected.
+     *
+     * @param keys
+     *            The keys to consider completed.
+     */
+    public static void replaceCompletedKeys(Set<String> keys) {
+        EXECUTIONS.entrySet()
+            .removeIf(entry -> entry.getValue()
+                .isDone() && !keys.contains(entry.getKey()));
+        for (String key : keys) {
+            EXECUTIONS.merge(key, CompletableFuture.completedFuture(null),
+                    (execution, completed) -> execution.isDone() ? completed : execution);
+        }
+    }
+
+    /**
+     * Forgets that a task completed, so the next initializer executes it again.
+     *
+     * @param key
+     *            The identity key.
+     */
+    public static void forget(String key) {
+        EXECUTIONS.computeIfPresent(key, (k, execution) -> execution.isDone() ? null : execution);
+    }
+
+    /**
+     * Forgets the completed tasks whose keys start with the given prefix. Tasks that are currently
+     * executed are not affected.
+     *
+     * @param prefix
+     *            The prefix of the keys.
+     */
+    public static void forgetByPrefix(String prefix) {
+        EXECUTIONS.entrySet()
+            .removeIf(entry -> entry.getKey()
+                .startsWith(prefix)
+                    && entry.getValue()
+                        .isDone());
+    }
+
+    /**
+     * Forgets all completed tasks. Tasks that are currently executed are not affected.
+     */
+    public static void clear() {
+        EXECUTIONS.values()
+            .removeIf(CompletableFuture::isDone);
+    }
+
+    /**
+     * Executes an {@link InitializationTask} on behalf of the registry.
+     */
+    @FunctionalInterface
+    public interface TaskExecution {
+
+        /**
+         * Executes the task.
+         *
+         * @throws StandaloneInitializationException
+         *             In case the task failed.
+         */
+        void run() throws StandaloneInitializationException;
+    }
+
+}
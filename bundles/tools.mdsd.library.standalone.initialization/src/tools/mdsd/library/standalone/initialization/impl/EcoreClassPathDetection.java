@@ -1,5 +1,7 @@
 package tools.mdsd.library.standalone.initialization.impl;
 
+import java.util.Optional;
+
 import org.eclipse.emf.ecore.plugin.EcorePlugin;
 
 import tools.mdsd.library.standalone.initialization.InitializationTask;
@@ -7,16 +9,30 @@ import tools.mdsd.library.standalone.initialization.InitializationTask;
 /**
  * Performs the ecore class path initialization that discovers e.g. meta models.
  * 
+ * The detection of EMF writes to the global registries directly. It holds the monitors of the
+ * registries meanwhile, so it does not race with the registrations published by concurrent tasks,
+ * see {@link GlobalRegistryTarget#runLocked(Runnable)}.
+ * 
  * @see <a href=
  *      "https://wiki.eclipse.org/EMF/FAQ#How_do_I_make_my_EMF_standalone_application_Eclipse-aware.3F">Eclipse
  *      wiki</a> for more details about how the discovery works
  */
 public class EcoreClassPathDetection implements InitializationTask {
 
+    @Override
+    public String getDescription() {
+        return "Ecore classpath detection";
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return Optional.of("ecore-classpath-detection");
+    }
+
     @Override
     public void initilizationWithoutPlatform() {
         // Detection of Meta Models and URIs by classpath magic
-        EcorePlugin.ExtensionProcessor.process(null);
+        GlobalRegistryTarget.runLocked(() -> EcorePlugin.ExtensionProcessor.process(null));
     }
 
 }
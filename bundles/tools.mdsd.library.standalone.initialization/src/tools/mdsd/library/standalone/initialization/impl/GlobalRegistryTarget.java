@@ -0,0 +1,152 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.resource.impl.URIMappingRegistryImpl;
+
+/**
+ * Publishes registrations to the global EMF registries.
+ *
+ * Every registry is locked separately on its own monitor, which is the lock used by all writers of
+ * this library. The removals and registrations of a stage are applied to each registry at once.
+ * Locations are published before resource factories and packages, so readers that lock the
+ * registries, e.g. {@link #getPackage(String)} and the readiness checks of the
+ * {@link tools.mdsd.library.standalone.initialization.InitializationFuture}, do not find a package
+ * whose resources cannot be resolved yet.
+ *
+ * EMF itself reads the global registries without locking, and they are plain hash maps that cannot
+ * be replaced. This class gives such readers no guarantee: loading models through the global
+ * registries while an initialization publishes to them may miss registrations or, in the worst
+ * case, observe a map that is being resized. This also applies after the readiness of a package
+ * has been signaled while other tasks are still running, so only the end of the initialization
+ * makes unsynchronized reads safe.
+ *
+ * Publishing or removing the location of a project forgets the completed registrations of the
+ * project at other locations, see {@link CompletedTaskRegistry}, so registering a previous location
+ * again is executed instead of being skipped.
+ */
+public final class GlobalRegistryTarget implements RegistryTarget {
+
+    /**
+     * The shared instance.
+     */
+    public static final GlobalRegistryTarget INSTANCE = new GlobalRegistryTarget();
+
+    private GlobalRegistryTarget() {
+        // singleton
+    }
+
+    @Override
+    public void publish(RegistryStage stage) {
+        var platformResourceMap = EcorePlugin.getPlatformResourceMap();
+        update(platformResourceMap, stage.getRemovedPlatformResources(), stage.getPlatformResources(),
+                platformResourceMap);
+        forgetOtherLocations(stage.getRemovedPlatformResources());
+        forgetOtherLocations(stage.getPlatformResources()
+            .keySet());
+        update(URIMappingRegistryImpl.INSTANCE.map(), stage.getRemovedURIMappings(), stage.getURIMappings(),
+                URIMappingRegistryImpl.INSTANCE);
+        var genModelLocations = EcorePlugin.getEPackageNsURIToGenModelLocationMap(false);
+        putAll(genModelLocations, stage.getGenModelLocations(), genModelLocations);
+        var dynamicModelLocations = EcorePlugin.getEPackageNsURIToDynamicModelLocationMap(false);
+        putAll(dynamicModelLocations, stage.getDynamicModelLocations(), dynamicModelLocations);
+        var factoryRegistry = Resource.Factory.Registry.INSTANCE;
+        putAll(factoryRegistry.getExtensionToFactoryMap(), stage.getExtensionFactories(), factoryRegistry);
+        putAll(factoryRegistry.getProtocolToFactoryMap(), stage.getProtocolFactories(), factoryRegistry);
+        putAll(factoryRegistry.getContentTypeToFactoryMap(), stage.getContentTypeFactories(), factoryRegistry);
+        putAll(EPackageRegistryImpl.INSTANCE, stage.getPackages(), EPackageRegistryImpl.INSTANCE);
+    }
+
+    /**
+     * Executes an action that writes to the global registries without staging, e.g. the ecore
+     * classpath detection of EMF, while holding the monitors of all registries. Thereby, it does not
+     * race with registrations published concurrently. The monitors are acquired in the order of
+     * {@link #publish(RegistryStage)}, which holds at most one of them at a time.
+     *
+     * @param action
+     *            The action.
+     */
+    public static void runLocked(Runnable action) {
+        var platformResourceMap = EcorePlugin.getPlatformResourceMap();
+        var genModelLocations = EcorePlugin.getEPackageNsURIToGenModelLocationMap(false);
+        var dynamicModelLocations = EcorePlugin.getEPackageNsURIToDynamicModelLocationMap(false);
+        synchronized (platformResourceMap) {
+            synchronized (URIMappingRegistryImpl.INSTANCE) {
+                synchronized (genModelLocations) {
+                    synchronized (dynamicModelLocations) {
+                        synchronized (Resource.Factory.Registry.INSTANCE) {
+                            synchronized (EPackageRegistryImpl.INSTANCE) {
+                                action.run();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object getPackage(String nsURI) {
+        synchronized (EPackageRegistryImpl.INSTANCE) {
+            return EPackageRegistryImpl.INSTANCE.get(nsURI);
+        }
+    }
+
+    @Override
+    public EPackage.Registry getPackageRegistry() {
+        return EPackageRegistryImpl.INSTANCE;
+    }
+
+    @Override
+    public boolean isProjectRegistered(String projectName) {
+        var platformResourceMap = EcorePlugin.getPlatformResourceMap();
+        synchronized (platformResourceMap) {
+            return platformResourceMap.containsKey(projectName);
+        }
+    }
+
+    @Override
+    public ResourceSet createResourceSet() {
+        var resourceSet = new ResourceSetImpl();
+        RegisteredArchives.installHandler(resourceSet);
+        RegistryStage.applyStaged(this, resourceSet);
+        return resourceSet;
+    }
+
+    private static void forgetOtherLocations(Set<String> projectNames) {
+        // the registration that is currently executed keeps its key
+        for (String projectName : projectNames) {
+            CompletedTaskRegistry.forgetByPrefix(ProjectURIByURIRegistration.identityKeyPrefix(projectName));
+        }
+    }
+
+    private static <K, V> void update(Map<K, V> registry, Set<K> removals, Map<K, V> registrations, Object lock) {
+        if (removals.isEmpty()) {
+            putAll(registry, registrations, lock);
+            return;
+        }
+        synchronized (lock) {
+            for (K removal : removals) {
+                registry.remove(removal);
+            }
+            registry.putAll(registrations);
+        }
+    }
+
+    private static <K, V> void putAll(Map<K, V> registry, Map<K, V> registrations, Object lock) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            registry.putAll(registrations);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+
+/**
+ * Java Flight Recorder events of the standalone initialization.
+ *
+ * The events are only accessed through the static methods of this class, which expose them as
+ * plain objects. Callers that check {@link InitializationObserver#isFlightRecorderAvailable()}
+ * before do therefore not depend on the jdk.jfr module.
+ */
+final class InitializationEvents {
+
+    private InitializationEvents() {
+        // utility class
+    }
+
+    /**
+     * Begins the event of a whole initialization.
+     *
+     * @param taskCount
+     *            The number of tasks to be executed.
+     * @return The event or null if the event is not recorded.
+     */
+    static Object beginInitialization(int taskCount) {
+        var event = new InitializationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.taskCount = taskCount;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the event of a whole initialization.
+     *
+     * @param event
+     *            The event returned by {@link #beginInitialization(int)}.
+     * @param failure
+     *            The error that aborted the initialization or null if it succeeded.
+     */
+    static void endInitialization(Object event, Throwable failure) {
+        if (event instanceof InitializationEvent) {
+            var initializationEvent = (InitializationEvent) event;
+            initializationEvent.end();
+            initializationEvent.failure = failure == null ? null : failure.toString();
+            initializationEvent.commit();
+        }
+    }
+
+    /**
+     * Begins the event of a single task.
+     *
+     * @param task
+     *            The task to be executed.
+     * @return The event or null if the event is not recorded.
+     */
+    static Object beginTask(InitializationTask task) {
+        var event = new InitializationTaskEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.description = task.getDescription();
+        event.taskClass = task.getClass();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the event of a single task.
+     *
+     * @param event
+     *            The event returned by {@link #beginTask(InitializationTask)}.
+     * @param failure
+     *            The error raised by the task or null if it succeeded.
+     */
+    static void endTask(Object event, Throwable failure) {
+        if (event instanceof InitializationTaskEvent) {
+            var taskEvent = (InitializationTaskEvent) event;
+            taskEvent.end();
+            taskEvent.failure = failure == null ? null : failure.toString();
+            taskEvent.commit();
+        }
+    }
+
+    @Name("tools.mdsd.library.standalone.initialization.Initialization")
+    @Label("Standalone Initialization")
+    @Category({ "MDSD Tools", "Standalone Initialization" })
+    @Description("Execution of all tasks of a standalone initializer")
+    @StackTrace(false)
+    static class InitializationEvent extends Event {
+        @Label("Task Count")
+        int taskCount;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name("tools.mdsd.library.standalone.initialization.Task")
+    @Label("Initialization Task")
+    @Category({ "MDSD Tools", "Standalone Initialization" })
+    @Description("Execution of a single standalone initialization task")
+    @StackTrace(false)
+    static class InitializationTaskEvent extends Event {
+        @Label("Description")
+        String description;
+
+        @Label("Task Class")
+        Class<?> taskClass;
+
+        @Label("Failure")
+        String failure;
+    }
+
+}
@@ -0,0 +1,288 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * The registrations that are otherwise determined at runtime by scanning the classpath and the
+ * file system, recorded in a compact line based file.
+ *
+ * Every line holds one entry consisting of its type, a key, a value and an optional detail,
+ * separated by tabs. Locations below the directory of the manifest file can be stored relative to
+ * it, so the manifest stays valid when the whole installation is moved.
+ */
+public class InitializationManifest {
+
+    private static final String HEADER = "# standalone initialization manifest 1";
+    private static final String MANIFEST_DIRECTORY = "${manifest.dir}/";
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * The kinds of entries of a manifest.
+     */
+    public enum EntryType {
+        /**
+         * The location of a project by its name.
+         */
+        PROJECT("project"),
+        /**
+         * The location of a bundle by its symbolic name.
+         */
+        PLUGIN("plugin"),
+        /**
+         * The class of a generated package by its namespace URI. The detail is the location of the
+         * generator model.
+         */
+        GENERATED_PACKAGE("generated_package"),
+        /**
+         * The location of a meta model by the namespace URI of a contained package.
+         */
+        DYNAMIC_PACKAGE("dynamic_package"),
+        /**
+         * The class of a factory by the namespace URI of its package.
+         */
+        FACTORY_OVERRIDE("factory_override"),
+        /**
+         * The class of a resource factory by a file extension.
+         */
+        EXTENSION_PARSER("extension_parser"),
+        /**
+         * The class of a resource factory by a protocol.
+         */
+        PROTOCOL_PARSER("protocol_parser"),
+        /**
+         * The class of a resource factory by a content type identifier.
+         */
+        CONTENT_PARSER("content_parser"),
+        /**
+         * The target URI of a source URI.
+         */
+        URI_MAPPING("uri_mapping");
+
+        private final String id;
+
+        EntryType(String id) {
+            this.id = id;
+        }
+
+        /**
+         * @return The identifier of the type as used in the manifest file.
+         */
+        public String getId() {
+            return id;
+        }
+
+        private static EntryType byId(String id) throws IOException {
+            for (EntryType type : values()) {
+                if (type.id.equals(id)) {
+                    return type;
+                }
+            }
+            throw new IOException("Unknown manifest entry type " + id);
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Adds an entry without a detail.
+     *
+     * @param type
+     *            The type of the entry.
+     * @param key
+     *            The key of the entry.
+     * @param value
+     *            The value of the entry.
+     */
+    public void add(EntryType type, String key, String value) {
+        add(type, key, value, null);
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param type
+     *            The type of the entry.
+     * @param key
+     *            The key of the entry.
+     * @param value
+     *            The value of the entry.
+     * @param detail
+     *            Additional information of the entry or null.
+     */
+    public void add(EntryType type, String key, String value, String detail) {
+        entries.add(new Entry(type, key, value, detail));
+    }
+
+    /**
+     * @return All entries in the order they have been added.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Determines the entries of a type.
+     *
+     * @param type
+     *            The type of the entries.
+     * @return The entries of the given type in the order they have been added.
+     */
+    public List<Entry> getEntries(EntryType type) {
+        return entries.stream()
+            .filter(entry -> entry.type == type)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads a manifest file. Relative locations are resolved against the directory of the file.
+     *
+     * @param file
+     *            The manifest file.
+     * @return The manifest.
+     * @throws IOException
+     *             In case the file could not be read or has an unknown format.
+     */
+    public static InitializationManifest read(Path file) throws IOException {
+        var manifest = new InitializationManifest();
+        var directory = directoryURI(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException(
+                        "The file " + file + " is not an initialization manifest of a supported version.");
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                var fields = line.split(SEPARATOR, -1);
+                if (fields.length < 3 || fields.length > 4) {
+                    throw new IOException("Malformed manifest entry: " + line);
+                }
+                manifest.add(EntryType.byId(fields[0]), fields[1], fields[2].replace(MANIFEST_DIRECTORY, directory),
+                        fields.length == 4 ? fields[3].replace(MANIFEST_DIRECTORY, directory) : null);
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Writes the manifest to a file. The file is replaced atomically if the file system supports
+     * it.
+     *
+     * @param file
+     *            The file to write.
+     * @param relativeLocations
+     *            True to store locations below the directory of the file relative to it.
+     * @throws IOException
+     *             In case the file could not be written.
+     */
+    public void write(Path file, boolean relativeLocations) throws IOException {
+        var directory = directoryURI(file);
+        var parent = file.toAbsolutePath()
+            .getParent();
+        Files.createDirectories(parent);
+        var tempFile = Files.createTempFile(parent, file.getFileName()
+            .toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (Entry entry : entries) {
+                    writer.write(entry.type.getId());
+                    writer.write(SEPARATOR);
+                    writer.write(checkField(entry.key));
+                    writer.write(SEPARATOR);
+                    writer.write(relocate(checkField(entry.value), directory, relativeLocations));
+                    if (entry.detail != null) {
+                        writer.write(SEPARATOR);
+                        writer.write(relocate(checkField(entry.detail), directory, relativeLocations));
+                    }
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String directoryURI(Path file) {
+        return URI.createFileURI(file.toAbsolutePath()
+            .getParent()
+            .toString())
+            .appendSegment("")
+            .toString();
+    }
+
+    private static String relocate(String value, String directory, boolean relativeLocations) {
+        return relativeLocations ? value.replace(directory, MANIFEST_DIRECTORY) : value;
+    }
+
+    private static String checkField(String field) {
+        if (field.contains(SEPARATOR) || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Manifest entries must not contain tabs or line breaks: " + field);
+        }
+        return field;
+    }
+
+    /**
+     * A single registration.
+     */
+    public static final class Entry {
+
+        private final EntryType type;
+        private final String key;
+        private final String value;
+        private final String detail;
+
+        Entry(EntryType type, String key, String value, String detail) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+            this.detail = detail;
+        }
+
+        public EntryType getType() {
+            return type;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return Additional information of the entry or null.
+         */
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return type.getId() + " " + key + " -> " + value;
+        }
+    }
+
+}
@@ -0,0 +1,394 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import tools.mdsd.library.standalone.initialization.InitializationFuture;
+import tools.mdsd.library.standalone.initialization.InitializationListener;
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.RegistrySnapshot;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+
+/**
+ * Executes tasks while notifying {@link InitializationListener} instances and emitting Java Flight
+ * Recorder events. The flight recorder events are skipped if the jdk.jfr module is not available.
+ * Before the first initialization of the process, the {@link RegistrySnapshot#getBaseline()
+ * baseline} of the registries is captured.
+ *
+ * Tasks with an identity key are executed via the {@link CompletedTaskRegistry}, so they are
+ * skipped if their key already completed in this process. The registrations of every task are
+ * collected in a {@link RegistryStage} and published to the {@link RegistryTarget} of the observer
+ * when the task succeeded. Completed identity keys are tracked per process, so they are only used
+ * while the target is the global registries.
+ *
+ * Instances are shared by the initializer implementations and can be used concurrently.
+ */
+public class InitializationObserver {
+
+    private static final boolean FLIGHT_RECORDER_AVAILABLE = isFlightRecorderAvailable();
+
+    private final List<InitializationListener> listeners;
+    private final boolean forceRefresh;
+    private final RegistryTarget target;
+    private final InitializationTask packageBarrier;
+
+    /**
+     * Constructs the observer.
+     *
+     * @param listeners
+     *            The listeners to notify in the given order.
+     */
+    public InitializationObserver(List<InitializationListener> listeners) {
+        this(listeners, false);
+    }
+
+    /**
+     * Constructs the observer.
+     *
+     * @param listeners
+     *            The listeners to notify in the given order.
+     * @param forceRefresh
+     *            True to execute tasks even if their identity keys already completed.
+     */
+    public InitializationObserver(List<InitializationListener> listeners, boolean forceRefresh) {
+        this(listeners, forceRefresh, GlobalRegistryTarget.INSTANCE);
+    }
+
+    /**
+     * Constructs the observer.
+     *
+     * @param listeners
+     *            The listeners to notify in the given order.
+     * @param forceRefresh
+     *            True to execute tasks even if their identity keys already completed.
+     * @param target
+     *            The registries to publish the registrations of the tasks to.
+     */
+    public InitializationObserver(List<InitializationListener> listeners, boolean forceRefresh,
+            RegistryTarget target) {
+        this(listeners, forceRefresh, target, null);
+    }
+
+    private InitializationObserver(List<InitializationListener> listeners, boolean forceRefresh,
+            RegistryTarget target, InitializationTask packageBarrier) {
+        this.listeners = List.copyOf(listeners);
+        this.forceRefresh = forceRefresh;
+        this.target = target;
+        this.packageBarrier = packageBarrier;
+    }
+
+    /**
+     * Creates an observer that additionally notifies the given listener, e.g. for a single run.
+     *
+     * @param listener
+     *            The listener to notify after the listeners of this observer.
+     * @return The new observer.
+     */
+    public InitializationObserver withListener(InitializationListener listener) {
+        List<InitializationListener> allListeners = new ArrayList<>(listeners);
+        allListeners.add(listener);
+        return new InitializationObserver(allListeners, forceRefresh, target, packageBarrier);
+    }
+
+    /**
+     * Creates an observer whose futures report packages as registered only after the given task,
+     * e.g. because the task modifies the registered packages.
+     *
+     * @param task
+     *            The task that has to complete before packages are ready or null to report
+     *            packages as soon as they are registered.
+     * @return The new observer.
+     */
+    public InitializationObserver withPackageBarrier(InitializationTask task) {
+        return new InitializationObserver(listeners, forceRefresh, target, task);
+    }
+
+    /**
+     * Indicates if flight recorder events can be emitted.
+     *
+     * @return True if the jdk.jfr module is available.
+     */
+    public static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, InitializationObserver.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs a whole initialization and reports its start and end.
+     *
+     * @param taskCount
+     *            The number of tasks executed by the initialization.
+     * @param initialization
+     *            The initialization to run.
+     * @throws StandaloneInitializationException
+     *             In case the initialization failed.
+     */
+    public void observeInitialization(int taskCount, Initialization initialization)
+            throws StandaloneInitializationException {
+        RegistrySnapshot.captureBaseline();
+        var event = FLIGHT_RECORDER_AVAILABLE ? InitializationEvents.beginInitialization(taskCount) : null;
+        var start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            throwIfPresent(notifyListeners(listener -> listener.initializationStarted(taskCount)));
+            initialization.run();
+        } catch (StandaloneInitializationException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (FLIGHT_RECORDER_AVAILABLE) {
+                InitializationEvents.endInitialization(event, failure);
+            }
+            var reportedFailure = failure;
+            var listenerFailure = notifyListeners(
+                    listener -> listener.initializationFinished(elapsed, reportedFailure));
+            if (listenerFailure != null) {
+                if (failure == null) {
+                    throw listenerFailure;
+                }
+                addSuppressed(failure, listenerFailure);
+            }
+        }
+    }
+
+    /**
+     * Runs a whole initialization on the given executor and reports its progress to the returned
+     * future in addition to the listeners. The future is completed when the initialization ended,
+     * regardless of exceptions thrown by the listeners.
+     *
+     * @param executor
+     *            The executor to run the initialization on.
+     * @param taskCount
+     *            The number of tasks executed by the initialization.
+     * @param initialization
+     *            Creates the initialization to run from the observer that has to execute its tasks.
+     * @return The future of the initialization.
+     */
+    public InitializationFuture observeInitializationAsync(Executor executor, int taskCount,
+            Function<InitializationObserver, Initialization> initialization) {
+        var future = new ObservedFuture(target, packageBarrier);
+        var runObserver = withListener(new TaskListener(future));
+        var run = initialization.apply(runObserver);
+        try {
+            executor.execute(() -> {
+                Throwable failure = null;
+                try {
+                    runObserver.observeInitialization(taskCount, run);
+                } catch (StandaloneInitializationException | RuntimeException e) {
+                    // reported to the future
+                    failure = e;
+                } catch (Error e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    future.finish(failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.finish(e);
+        }
+        return future;
+    }
+
+    /**
+     * Executes a single task and reports its start and end. The task is skipped if its identity key
+     * already completed in the global registries and no refresh is forced.
+     *
+     * Listeners are notified about the end of the task after its registrations have been published
+     * and, for tasks with an identity key, its key has been completed. If a listener fails, the task
+     * is reported as failed, but its registrations stay published and its key stays completed.
+     *
+     * @param task
+     *            The task to execute.
+     * @throws StandaloneInitializationException
+     *             In case the task failed.
+     */
+    public void runTask(InitializationTask task) throws StandaloneInitializationException {
+        var identityKey = task.getIdentityKey();
+        var elapsed = new AtomicReference<Duration>();
+        if (identityKey.isEmpty() || target != GlobalRegistryTarget.INSTANCE) {
+            elapsed.set(execute(task));
+        } else if (!CompletedTaskRegistry.runOnce(identityKey.get(), forceRefresh, () -> elapsed.set(execute(task)))) {
+            var listenerFailure = notifyListeners(listener -> listener.taskSkipped(task));
+            if (listenerFailure != null) {
+                reportTaskFailure(task, Duration.ZERO, listenerFailure);
+                throw listenerFailure;
+            }
+            return;
+        }
+        var listenerFailure = notifyListeners(listener -> listener.taskFinished(task, elapsed.get()));
+        if (listenerFailure != null) {
+            reportTaskFailure(task, elapsed.get(), listenerFailure);
+            throw listenerFailure;
+        }
+    }
+
+    /**
+     * Executes a task and publishes its registrations.
+     *
+     * @return The time spent executing the task.
+     */
+    private Duration execute(InitializationTask task) throws StandaloneInitializationException {
+        var event = FLIGHT_RECORDER_AVAILABLE ? InitializationEvents.beginTask(task) : null;
+        var start = System.nanoTime();
+        var stage = RegistryStage.open(target);
+        var committed = false;
+        try {
+            throwIfPresent(notifyListeners(listener -> listener.taskStarted(task)));
+            task.init();
+            committed = true;
+            stage.commit();
+        } catch (StandaloneInitializationException | RuntimeException | Error e) {
+            if (!committed) {
+                // the registrations of a failed task are not published
+                stage.discard();
+            }
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (FLIGHT_RECORDER_AVAILABLE) {
+                InitializationEvents.endTask(event, e);
+            }
+            reportTaskFailure(task, elapsed, e);
+            throw e;
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        if (FLIGHT_RECORDER_AVAILABLE) {
+            InitializationEvents.endTask(event, null);
+        }
+        return elapsed;
+    }
+
+    private void reportTaskFailure(InitializationTask task, Duration elapsed, Throwable failure) {
+        addSuppressed(failure, notifyListeners(listener -> listener.taskFailed(task, elapsed, failure)));
+    }
+
+    /**
+     * Notifies every listener, even if a previous listener threw an exception.
+     *
+     * @return The exception of the first failing listener with the exceptions of further failing
+     *         listeners attached as suppressed exceptions or null if no listener failed.
+     */
+    private RuntimeException notifyListeners(Consumer<InitializationListener> notification) {
+        RuntimeException failure = null;
+        for (InitializationListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    addSuppressed(failure, e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    private static void throwIfPresent(RuntimeException failure) {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void addSuppressed(Throwable failure, Throwable suppressed) {
+        if (suppressed != null && suppressed != failure) {
+            failure.addSuppressed(suppressed);
+        }
+    }
+
+    /**
+     * The execution of all tasks of an initializer.
+     */
+    @FunctionalInterface
+    public interface Initialization {
+
+        /**
+         * Executes the tasks.
+         *
+         * @throws StandaloneInitializationException
+         *             In case a task failed.
+         */
+        void run() throws StandaloneInitializationException;
+    }
+
+    /**
+     * Future that checks the readiness against the target of the observer and holds back packages
+     * until the package barrier completed.
+     */
+    private static class ObservedFuture extends InitializationFuture {
+
+        private final RegistryTarget target;
+        private final InitializationTask packageBarrier;
+        private volatile boolean packagesReady;
+
+        ObservedFuture(RegistryTarget target, InitializationTask packageBarrier) {
+            this.target = target;
+            this.packageBarrier = packageBarrier;
+            this.packagesReady = packageBarrier == null;
+        }
+
+        private void completeTask(InitializationTask task) {
+            if (task == packageBarrier) {
+                packagesReady = true;
+            }
+            taskCompleted(task);
+        }
+
+        private void failTask(InitializationTask task, Throwable failure) {
+            taskFailed(task, failure);
+        }
+
+        private void finish(Throwable failure) {
+            initializationFinished(failure);
+        }
+
+        @Override
+        protected boolean isProjectRegistered(String projectName) {
+            return target.isProjectRegistered(projectName);
+        }
+
+        @Override
+        protected boolean isPackageRegistered(String nsURI) {
+            return packagesReady && target.getPackage(nsURI) != null;
+        }
+    }
+
+    /**
+     * Reports the execution of tasks to the future of an asynchronous initialization. The end of
+     * the initialization is not reported, so the future completes independently of the other
+     * listeners. The future itself is no listener, so callers of the future cannot report tasks.
+     */
+    private static class TaskListener implements InitializationListener {
+
+        private final ObservedFuture future;
+
+        TaskListener(ObservedFuture future) {
+            this.future = future;
+        }
+
+        @Override
+        public void taskFinished(InitializationTask task, Duration elapsed) {
+            future.completeTask(task);
+        }
+
+        @Override
+        public void taskSkipped(InitializationTask task) {
+            future.completeTask(task);
+        }
+
+        @Override
+        public void taskFailed(InitializationTask task, Duration elapsed, Throwable failure) {
+            future.failTask(task, failure);
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package tools.mdsd.library.standalone.initialization.impl;
 
+import java.util.Optional;
+
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
 
@@ -21,6 +23,16 @@ public class InitializationTaskWrapper implements InitializationTask {
         this.delegate = delegate;
     }
 
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return delegate.getIdentityKey();
+    }
+
     @Override
     public void initilizationWithoutPlatform() throws StandaloneInitializationException {
         getDelegate().initilizationWithoutPlatform();
@@ -0,0 +1,53 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.IOException;
+
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+
+/**
+ * Descriptor of a package that is loaded by a {@link MetaModelLoader} on first access.
+ * 
+ * All descriptors of the same meta model share one loader, so the meta model is loaded only once
+ * regardless of the package that is accessed first.
+ */
+public class LazyEPackageDescriptor implements EPackage.Descriptor {
+
+    private final MetaModelLoader loader;
+    private final String nsURI;
+
+    /**
+     * Constructs the descriptor.
+     * 
+     * @param loader
+     *            The loader of the meta model containing the package.
+     * @param nsURI
+     *            The namespace URI of the package.
+     */
+    public LazyEPackageDescriptor(MetaModelLoader loader, String nsURI) {
+        this.loader = loader;
+        this.nsURI = nsURI;
+    }
+
+    @Override
+    public EPackage getEPackage() {
+        try {
+            var ePackage = loader.getPackages()
+                .get(nsURI);
+            if (ePackage == null) {
+                throw new WrappedException(
+                        new IOException("The meta model " + loader.getURI() + " does not contain the package " + nsURI));
+            }
+            return ePackage;
+        } catch (IOException e) {
+            throw new WrappedException(e);
+        }
+    }
+
+    @Override
+    public EFactory getEFactory() {
+        return getEPackage().getEFactoryInstance();
+    }
+
+}
@@ -0,0 +1,83 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.emf.ecore.EcorePackage;
+
+/**
+ * Reads the namespace URIs of the packages of an Ecore meta model without loading the meta model.
+ * 
+ * The XMI document is streamed and only the elements describing packages and subpackages are
+ * inspected, so no model objects are created.
+ */
+public final class MetaModelHeaderReader {
+
+    private static final String PACKAGE_ELEMENT = "EPackage";
+    private static final String SUBPACKAGE_ELEMENT = "eSubpackages";
+    private static final String NS_URI_ATTRIBUTE = "nsURI";
+
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        var factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    });
+
+    private MetaModelHeaderReader() {
+        // utility class
+    }
+
+    /**
+     * Reads the namespace URIs of all packages and subpackages of the given meta model. The stream
+     * is not closed.
+     * 
+     * @param in
+     *            The contents of the meta model in the XMI format.
+     * @return The namespace URIs in document order.
+     * @throws IOException
+     *             In case the contents could not be parsed.
+     */
+    public static List<String> readNamespaceURIs(InputStream in) throws IOException {
+        List<String> result = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.get()
+                .createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && isPackage(reader)) {
+                    var nsURI = reader.getAttributeValue(null, NS_URI_ATTRIBUTE);
+                    if (nsURI != null) {
+                        result.add(nsURI);
+                    }
+                }
+            }
+            return result;
+        } catch (XMLStreamException e) {
+            throw new IOException("The meta model could not be parsed.", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+
+    private static boolean isPackage(XMLStreamReader reader) {
+        if (SUBPACKAGE_ELEMENT.equals(reader.getLocalName())) {
+            return true;
+        }
+        return PACKAGE_ELEMENT.equals(reader.getLocalName()) && EcorePackage.eNS_URI.equals(reader.getNamespaceURI());
+    }
+
+}
@@ -0,0 +1,173 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * Loads the meta model stored at a given {@link URI}, optionally by using a
+ * {@link BinaryMetaModelCache}.
+ * 
+ * Besides loading into a given resource set, the loader can load the meta model on demand into a
+ * resource set of its own. The on demand loading is thread-safe and happens only once. The resource
+ * sets created by the loader resolve URIs by the registries of the {@link RegistryTarget} that was
+ * current when the loader was constructed.
+ *
+ * The loader remembers the resource sets it creates as long as they are referenced, so the meta
+ * model compaction only changes resource sets created by the initialization.
+ */
+public class MetaModelLoader {
+
+    private static final Set<ResourceSet> CREATED_RESOURCE_SETS = Collections
+        .synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final URI uri;
+    private final Optional<BinaryMetaModelCache> cache;
+    private final RegistryTarget target;
+    private volatile Map<String, EPackage> packages;
+
+    /**
+     * Constructs the loader.
+     * 
+     * @param uri
+     *            The URI of the meta model.
+     * @param cache
+     *            The cache to use or null to always load the meta model from its source.
+     */
+    public MetaModelLoader(URI uri, BinaryMetaModelCache cache) {
+        this.uri = uri;
+        this.cache = Optional.ofNullable(cache);
+        this.target = RegistryStage.currentTarget();
+    }
+
+    /**
+     * Gets the URI of the meta model.
+     * 
+     * @return The URI.
+     */
+    public URI getURI() {
+        return uri;
+    }
+
+    /**
+     * Creates a resource set that resolves URIs by the registries the meta model is registered
+     * with.
+     * 
+     * @return The new resource set.
+     */
+    public ResourceSet createResourceSet() {
+        return createResourceSet(target);
+    }
+
+    /**
+     * Creates a resource set to load meta models into that resolves URIs by the registries of the
+     * given target.
+     * 
+     * @param target
+     *            The registries to resolve URIs by.
+     * @return The new resource set.
+     */
+    public static ResourceSet createResourceSet(RegistryTarget target) {
+        var resourceSet = target.createResourceSet();
+        CREATED_RESOURCE_SETS.add(resourceSet);
+        return resourceSet;
+    }
+
+    /**
+     * Determines if a resource set has been created by a loader, i.e. by the initialization.
+     * 
+     * @param resourceSet
+     *            The resource set to check.
+     * @return True if the resource set has been created by {@link #createResourceSet()} or
+     *         {@link #createResourceSet(RegistryTarget)}, false otherwise.
+     */
+    public static boolean isCreatedByLoader(ResourceSet resourceSet) {
+        return CREATED_RESOURCE_SETS.contains(resourceSet);
+    }
+
+    /**
+     * Loads the meta model into the given resource set.
+     * 
+     * @param resourceSet
+     *            The resource set to load the meta model into.
+     * @return The loaded resource.
+     * @throws IOException
+     *             In case the meta model could not be loaded.
+     */
+    public Resource load(ResourceSet resourceSet) throws IOException {
+        RegisteredArchives.installHandler(resourceSet);
+        if (cache.isPresent()) {
+            return cache.get()
+                .getResource(resourceSet, uri);
+        }
+        try {
+            return resourceSet.getResource(uri, true);
+        } catch (WrappedException e) {
+            throw new IOException("Could not load meta model " + uri, e.getCause());
+        }
+    }
+
+    /**
+     * Gets the packages of the meta model by their namespace URI. The meta model is loaded on the
+     * first call.
+     * 
+     * @return The packages of the meta model including all subpackages.
+     * @throws IOException
+     *             In case the meta model could not be loaded.
+     */
+    public Map<String, EPackage> getPackages() throws IOException {
+        var result = packages;
+        if (result == null) {
+            synchronized (this) {
+                result = packages;
+                if (result == null) {
+                    Map<String, EPackage> loaded = new LinkedHashMap<>();
+                    for (EPackage ePackage : collectPackages(load(createResourceSet()))) {
+                        loaded.putIfAbsent(ePackage.getNsURI(), ePackage);
+                    }
+                    result = Collections.unmodifiableMap(loaded);
+                    packages = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the packages contained in a resource. Root packages precede their subpackages.
+     * 
+     * @param resource
+     *            The resource holding the packages.
+     * @return The root packages and all of their subpackages.
+     */
+    public static List<EPackage> collectPackages(Resource resource) {
+        List<EPackage> result = new ArrayList<>();
+        var queue = new LinkedList<EPackage>();
+        for (EObject root : resource.getContents()) {
+            if (root instanceof EPackage) {
+                queue.add((EPackage) root);
+            }
+        }
+        while (!queue.isEmpty()) {
+            var ePackage = queue.pop();
+            result.add(ePackage);
+            queue.addAll(ePackage.getESubpackages());
+        }
+        return result;
+    }
+
+}
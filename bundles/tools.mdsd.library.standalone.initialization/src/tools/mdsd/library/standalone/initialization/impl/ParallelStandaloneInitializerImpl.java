@@ -0,0 +1,369 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.ToLongFunction;
+
+import tools.mdsd.library.standalone.initialization.InitializationFuture;
+import tools.mdsd.library.standalone.initialization.InitializationTask;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
+import tools.mdsd.library.standalone.initialization.StandaloneInitializer;
+
+/**
+ * Implementation of an {@link StandaloneInitializer} that executes the registered
+ * {@link InitializationTask} elements concurrently while respecting their declared dependencies.
+ *
+ * The tasks form a directed acyclic graph. A task is started as soon as all of its dependencies
+ * completed successfully. As soon as one task fails, no further tasks are started. Tasks that are
+ * already running are awaited and all collected errors are reported together.
+ *
+ * If estimates of the execution times are available, ready tasks are started by the length of the
+ * longest chain of dependent tasks they head, so the critical path of the graph starts as early as
+ * possible. Otherwise, ready tasks are started in the order of registration.
+ */
+public class ParallelStandaloneInitializerImpl implements StandaloneInitializer {
+
+    private final List<TaskNode> nodes = new ArrayList<>();
+    private final Executor executor;
+    private final int parallelism;
+    private final InitializationObserver observer;
+    private final ToLongFunction<InitializationTask> costEstimate;
+    private final List<TaskNode> topologicalOrder = new ArrayList<>();
+
+    /**
+     * Constructs the initializer.
+     *
+     * @param tasks
+     *            All tasks to be executed during initialization. Every task instance is executed
+     *            at most once.
+     * @param dependencies
+     *            The dependencies of the tasks. A task is only executed after all of its
+     *            dependencies have been executed. Every dependency has to be contained in the list
+     *            of tasks and the dependencies must not contain cycles.
+     * @param executor
+     *            The executor used to run the tasks.
+     * @param parallelism
+     *            The maximum number of tasks running at the same time.
+     */
+    public ParallelStandaloneInitializerImpl(List<InitializationTask> tasks,
+            Map<InitializationTask, Set<InitializationTask>> dependencies, Executor executor,
+            int parallelism) {
+        this(tasks, dependencies, executor, parallelism, new InitializationObserver(Collections.emptyList()));
+    }
+
+    /**
+     * Constructs the initializer that executes the tasks via the given observer.
+     *
+     * @param tasks
+     *            All tasks to be executed during initialization. Every task instance is executed
+     *            at most once.
+     * @param dependencies
+     *            The dependencies of the tasks, see
+     *            {@link #ParallelStandaloneInitializerImpl(List, Map, Executor, int)}.
+     * @param executor
+     *            The executor used to run the tasks.
+     * @param parallelism
+     *            The maximum number of tasks running at the same time.
+     * @param observer
+     *            The observer that executes the tasks and notifies the listeners. It is called
+     *            concurrently from the threads of the executor.
+     */
+    public ParallelStandaloneInitializerImpl(List<InitializationTask> tasks,
+            Map<InitializationTask, Set<InitializationTask>> dependencies, Executor executor, int parallelism,
+            InitializationObserver observer) {
+        this(tasks, dependencies, executor, parallelism, observer, null);
+    }
+
+    /**
+     * Constructs the initializer that schedules the tasks by their estimated execution times.
+     *
+     * @param tasks
+     *            All tasks to be executed during initialization. Every task instance is executed
+     *            at most once.
+     * @param dependencies
+     *            The dependencies of the tasks, see
+     *            {@link #ParallelStandaloneInitializerImpl(List, Map, Executor, int)}.
+     * @param executor
+     *            The executor used to run the tasks.
+     * @param parallelism
+     *            The maximum number of tasks running at the same time.
+     * @param observer
+     *            The observer that executes the tasks and notifies the listeners.
+     * @param costEstimate
+     *            Estimates the execution time of a task in nanoseconds or returns a negative value
+     *            if the time is unknown. It is called once per task at the start of every
+     *            initialization. Pass null to start the tasks in the order of registration.
+     */
+    public ParallelStandaloneInitializerImpl(List<InitializationTask> tasks,
+            Map<InitializationTask, Set<InitializationTask>> dependencies, Executor executor, int parallelism,
+            InitializationObserver observer, ToLongFunction<InitializationTask> costEstimate) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism has to be positive.");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.observer = observer;
+        this.costEstimate = costEstimate;
+
+        Map<InitializationTask, TaskNode> nodesByTask = new IdentityHashMap<>();
+        for (InitializationTask task : tasks) {
+            nodesByTask.computeIfAbsent(task, t -> {
+                var node = new TaskNode(t, nodes.size());
+                nodes.add(node);
+                return node;
+            });
+        }
+        for (TaskNode node : nodes) {
+            for (InitializationTask dependency : dependencies.getOrDefault(node.task, Collections.emptySet())) {
+                var dependencyNode = nodesByTask.get(dependency);
+                if (dependencyNode == null) {
+                    throw new IllegalArgumentException("The dependency " + dependency + " of task " + node.task
+                            + " is not part of the initialization.");
+                }
+                if (dependencyNode != node && dependencyNode.dependents.add(node)) {
+                    node.dependencyCount++;
+                }
+            }
+        }
+        verifyAcyclic();
+    }
+
+    @Override
+    public void init() throws StandaloneInitializationException {
+        observer.observeInitialization(nodes.size(), () -> execute(observer));
+    }
+
+    @Override
+    public InitializationFuture initAsync(Executor coordinator) {
+        return observer.observeInitializationAsync(coordinator, nodes.size(),
+                runObserver -> () -> execute(runObserver));
+    }
+
+    private void execute(InitializationObserver runObserver) throws StandaloneInitializationException {
+        var execution = new Execution(runObserver);
+        try {
+            execution.start()
+                .get();
+        } catch (InterruptedException e) {
+            execution.cancel();
+            Thread.currentThread()
+                .interrupt();
+            throw new StandaloneInitializationException("Interrupted while waiting for the initialization.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StandaloneInitializationException) {
+                throw (StandaloneInitializationException) e.getCause();
+            }
+            throw new StandaloneInitializationException("Initialization failed.", e.getCause());
+        }
+    }
+
+    private void verifyAcyclic() {
+        var remaining = new IdentityHashMap<TaskNode, Integer>();
+        var ready = new ArrayList<TaskNode>();
+        for (TaskNode node : nodes) {
+            remaining.put(node, node.dependencyCount);
+            if (node.dependencyCount == 0) {
+                ready.add(node);
+            }
+        }
+        var visited = 0;
+        while (!ready.isEmpty()) {
+            var node = ready.remove(ready.size() - 1);
+            topologicalOrder.add(node);
+            visited++;
+            for (TaskNode dependent : node.dependents) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (visited != nodes.size()) {
+            throw new IllegalArgumentException("The dependencies between the initialization tasks contain a cycle.");
+        }
+    }
+
+    /**
+     * Computes the priority of every task as the estimated time of the longest chain of tasks that
+     * starts with the task. Tasks without estimate are assumed to take the average time of the
+     * estimated tasks.
+     *
+     * @return The priorities by the index of the tasks or null if no estimates are available.
+     */
+    private long[] computePriorities() {
+        if (costEstimate == null) {
+            return null;
+        }
+        var costs = new long[nodes.size()];
+        long knownTotal = 0;
+        var knownCount = 0;
+        for (TaskNode node : nodes) {
+            costs[node.index] = costEstimate.applyAsLong(node.task);
+            if (costs[node.index] >= 0) {
+                knownTotal += costs[node.index];
+                knownCount++;
+            }
+        }
+        if (knownCount == 0) {
+            return null;
+        }
+        var unknownCost = knownTotal / knownCount;
+        var priorities = new long[nodes.size()];
+        // dependents precede their dependencies in the reversed topological order
+        for (int i = topologicalOrder.size() - 1; i >= 0; i--) {
+            var node = topologicalOrder.get(i);
+            long longestDependentChain = 0;
+            for (TaskNode dependent : node.dependents) {
+                longestDependentChain = Math.max(longestDependentChain, priorities[dependent.index]);
+            }
+            var cost = costs[node.index] >= 0 ? costs[node.index] : unknownCost;
+            priorities[node.index] = cost + longestDependentChain;
+        }
+        return priorities;
+    }
+
+    /**
+     * A task together with its position in the dependency graph.
+     */
+    private static class TaskNode {
+        private final InitializationTask task;
+        private final int index;
+        private final Set<TaskNode> dependents = new LinkedHashSet<>();
+        private int dependencyCount;
+
+        TaskNode(InitializationTask task, int index) {
+            this.task = task;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The state of a single run of all tasks. Tasks that became ready are dispatched by descending
+     * priority, then by the number of tasks waiting for them and then in the order in which they
+     * have been registered.
+     */
+    private class Execution {
+        private final InitializationObserver runObserver;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final long[] priorities = computePriorities();
+        private final PriorityQueue<TaskNode> ready = new PriorityQueue<>(this::compareReady);
+        private final Map<TaskNode, Integer> remainingDependencies = new IdentityHashMap<>();
+        private final List<Throwable> failures = new ArrayList<>();
+        private int running;
+        private boolean cancelled;
+
+        Execution(InitializationObserver runObserver) {
+            this.runObserver = runObserver;
+        }
+
+        CompletableFuture<Void> start() {
+            synchronized (this) {
+                for (TaskNode node : nodes) {
+                    remainingDependencies.put(node, node.dependencyCount);
+                    if (node.dependencyCount == 0) {
+                        ready.add(node);
+                    }
+                }
+                dispatch();
+            }
+            return completion;
+        }
+
+        private int compareReady(TaskNode a, TaskNode b) {
+            if (priorities != null) {
+                var byPriority = Long.compare(priorities[b.index], priorities[a.index]);
+                if (byPriority != 0) {
+                    return byPriority;
+                }
+                var byDependents = Integer.compare(b.dependents.size(), a.dependents.size());
+                if (byDependents != 0) {
+                    return byDependents;
+                }
+            }
+            return Integer.compare(a.index, b.index);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            ready.clear();
+        }
+
+        private void dispatch() {
+            while (!cancelled && running < parallelism && !ready.isEmpty()) {
+                var node = ready.poll();
+                running++;
+                try {
+                    executor.execute(() -> run(node));
+                } catch (RuntimeException e) {
+                    running--;
+                    failures.add(e);
+                    cancel();
+                }
+            }
+            if (running == 0 && (cancelled || ready.isEmpty())) {
+                complete();
+            }
+        }
+
+        private void run(TaskNode node) {
+            Throwable failure = null;
+            try {
+                synchronized (this) {
+                    if (cancelled) {
+                        return;
+                    }
+                }
+                runObserver.runTask(node.task);
+            } catch (StandaloneInitializationException | RuntimeException e) {
+                failure = e;
+            } catch (Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                finished(node, failure);
+            }
+        }
+
+        private synchronized void finished(TaskNode node, Throwable failure) {
+            running--;
+            if (failure != null) {
+                failures.add(failure);
+                cancel();
+            } else {
+                for (TaskNode dependent : node.dependents) {
+                    if (remainingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+            dispatch();
+        }
+
+        private void complete() {
+            if (failures.isEmpty() && !cancelled) {
+                completion.complete(null);
+            } else if (failures.size() == 1 && failures.get(0) instanceof StandaloneInitializationException) {
+                completion.completeExceptionally(failures.get(0));
+            } else if (failures.isEmpty()) {
+                completion.completeExceptionally(
+                        new StandaloneInitializationException("The initialization has been cancelled."));
+            } else {
+                var exception = new StandaloneInitializationException(
+                        failures.size() + " initialization task(s) failed.", failures.get(0));
+                failures.stream()
+                    .skip(1)
+                    .forEach(exception::addSuppressed);
+                completion.completeExceptionally(exception);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,259 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+
+import tools.mdsd.library.standalone.initialization.impl.ClasspathPluginReader.PluginBundle;
+import tools.mdsd.library.standalone.initialization.impl.PluginXmlReader.EcoreContribution;
+
+/**
+ * Cache of the Ecore contributions read from archives on the classpath.
+ *
+ * Entries are keyed by the path of the archive and validated by its modification time and size.
+ * The cache is kept in memory for the lifetime of the class loader and can additionally be
+ * persisted to a file, so subsequent processes do not have to open unchanged archives at all.
+ * Folders are always read again because their modification time does not reflect changes of the
+ * contained files.
+ *
+ * The cache file is only written if an entry changed. Entries of archives that have not been read
+ * through the instance are dropped when the file is written, so archives that left the classpath
+ * do not accumulate.
+ */
+public class PluginBundleCache {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final Map<Path, CacheEntry> MEMORY_CACHE = new ConcurrentHashMap<>();
+
+    private final Optional<Path> cacheFile;
+    private final Map<Path, CacheEntry> persistentEntries = new ConcurrentHashMap<>();
+    private final Set<Path> readArchives = ConcurrentHashMap.newKeySet();
+    private volatile boolean modified;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param cacheFile
+     *            The file to persist the cache in or null to only cache in memory. An existing file
+     *            is read immediately.
+     */
+    public PluginBundleCache(Path cacheFile) {
+        this.cacheFile = Optional.ofNullable(cacheFile);
+        this.cacheFile.ifPresent(this::load);
+    }
+
+    /**
+     * Removes all entries from the memory cache shared by all instances.
+     */
+    public static void clearMemoryCache() {
+        MEMORY_CACHE.clear();
+    }
+
+    /**
+     * Reads the bundle of a classpath entry or takes it from the cache if the entry is an archive
+     * that did not change. This method is thread-safe.
+     *
+     * @param classpathEntry
+     *            A folder or an archive on the classpath.
+     * @return The bundle or an empty optional if the classpath entry is not a bundle with a
+     *         plugin.xml.
+     * @throws IOException
+     *             In case the classpath entry could not be read.
+     */
+    public Optional<PluginBundle> readBundle(Path classpathEntry) throws IOException {
+        var path = classpathEntry.toAbsolutePath()
+            .normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // classpaths commonly name entries that do not exist
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return ClasspathPluginReader.readBundle(path);
+        }
+        readArchives.add(path);
+        var lastModified = attributes.lastModifiedTime()
+            .to(TimeUnit.MILLISECONDS);
+        var cached = MEMORY_CACHE.get(path);
+        if (cached == null || !cached.matches(lastModified, attributes.size())) {
+            cached = persistentEntries.get(path);
+        }
+        if (cached == null || !cached.matches(lastModified, attributes.size())) {
+            cached = new CacheEntry(lastModified, attributes.size(), ClasspathPluginReader.readBundle(path)
+                .orElse(null));
+        }
+        MEMORY_CACHE.put(path, cached);
+        if (cacheFile.isPresent() && !cached.equals(persistentEntries.put(path, cached))) {
+            modified = true;
+        }
+        return Optional.ofNullable(cached.bundle);
+    }
+
+    /**
+     * Writes the cache file if entries have been added, replaced or dropped since it has been read.
+     * Only the entries of archives read through this instance are kept. Failures are ignored
+     * because the cache only speeds up the detection.
+     */
+    public void save() {
+        if (cacheFile.isEmpty()) {
+            return;
+        }
+        if (persistentEntries.keySet()
+            .retainAll(readArchives)) {
+            modified = true;
+        }
+        if (!modified) {
+            return;
+        }
+        var file = cacheFile.get();
+        try {
+            var parent = file.toAbsolutePath()
+                .getParent();
+            Files.createDirectories(parent);
+            var tempFile = Files.createTempFile(parent, file.getFileName()
+                .toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    Map<Path, CacheEntry> entries = new LinkedHashMap<>(persistentEntries);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(entries.size());
+                    for (var entry : entries.entrySet()) {
+                        out.writeUTF(entry.getKey()
+                            .toString());
+                        write(out, entry.getValue());
+                    }
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                modified = false;
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // the cache is rebuilt by the next run
+        }
+    }
+
+    private void load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            var count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                var path = Path.of(in.readUTF());
+                persistentEntries.put(path, read(in));
+            }
+        } catch (IOException | RuntimeException e) {
+            // a damaged cache is simply rebuilt
+            persistentEntries.clear();
+        }
+    }
+
+    private static void write(DataOutputStream out, CacheEntry entry) throws IOException {
+        out.writeLong(entry.lastModified);
+        out.writeLong(entry.size);
+        out.writeBoolean(entry.bundle != null);
+        if (entry.bundle == null) {
+            return;
+        }
+        out.writeUTF(entry.bundle.getSymbolicName());
+        out.writeUTF(entry.bundle.getLocation()
+            .toString());
+        out.writeInt(entry.bundle.getContributions()
+            .size());
+        for (EcoreContribution contribution : entry.bundle.getContributions()) {
+            out.writeUTF(contribution.getExtensionPoint());
+            out.writeUTF(contribution.getElementName());
+            var attributes = contribution.getAttributes();
+            out.writeInt(attributes.size());
+            for (var attribute : attributes.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                out.writeUTF(attribute.getValue());
+            }
+        }
+    }
+
+    private static CacheEntry read(DataInputStream in) throws IOException {
+        var lastModified = in.readLong();
+        var size = in.readLong();
+        if (!in.readBoolean()) {
+            return new CacheEntry(lastModified, size, null);
+        }
+        var symbolicName = in.readUTF();
+        var location = URI.createURI(in.readUTF());
+        var contributionCount = in.readInt();
+        List<EcoreContribution> contributions = new ArrayList<>(contributionCount);
+        for (int i = 0; i < contributionCount; i++) {
+            var extensionPoint = in.readUTF();
+            var elementName = in.readUTF();
+            var attributeCount = in.readInt();
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (int j = 0; j < attributeCount; j++) {
+                attributes.put(in.readUTF(), in.readUTF());
+            }
+            contributions.add(new EcoreContribution(extensionPoint, elementName, attributes));
+        }
+        return new CacheEntry(lastModified, size, new PluginBundle(symbolicName, location, contributions));
+    }
+
+    /**
+     * The bundle read from an archive together with the state of the archive.
+     */
+    private static class CacheEntry {
+        private final long lastModified;
+        private final long size;
+        private final PluginBundle bundle;
+
+        CacheEntry(long lastModified, long size, PluginBundle bundle) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.bundle = bundle;
+        }
+
+        boolean matches(long otherLastModified, long otherSize) {
+            return lastModified == otherLastModified && size == otherSize;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheEntry)) {
+                return false;
+            }
+            var other = (CacheEntry) obj;
+            return matches(other.lastModified, other.size) && Objects.equals(bundle, other.bundle);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size, bundle);
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the contributions to the extension points of EMF Ecore from a plugin.xml file.
+ *
+ * Only the elements directly nested into an extension of an Ecore extension point are reported,
+ * e.g. the "package" elements of "org.eclipse.emf.ecore.generated_package". Contributions to other
+ * extension points are skipped without being inspected.
+ */
+public final class PluginXmlReader {
+
+    /**
+     * The prefix of the identifiers of all extension points of EMF Ecore.
+     */
+    public static final String ECORE_EXTENSION_POINT_PREFIX = "org.eclipse.emf.ecore.";
+
+    private static final String EXTENSION_ELEMENT = "extension";
+    private static final String POINT_ATTRIBUTE = "point";
+
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        var factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    });
+
+    private PluginXmlReader() {
+        // utility class
+    }
+
+    /**
+     * Reads the contributions to Ecore extension points from the contents of a plugin.xml file.
+     * The stream is not closed.
+     *
+     * @param in
+     *            The contents of the plugin.xml file.
+     * @return The contributions in the order of their declaration.
+     * @throws IOException
+     *             In case the contents could not be parsed.
+     */
+    public static List<EcoreContribution> readEcoreContributions(InputStream in) throws IOException {
+        List<EcoreContribution> contributions = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.get()
+                .createXMLStreamReader(in);
+            String extensionPoint = null;
+            var depth = 0;
+            while (reader.hasNext()) {
+                var event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == 2 && EXTENSION_ELEMENT.equals(reader.getLocalName())) {
+                        var point = reader.getAttributeValue(null, POINT_ATTRIBUTE);
+                        if (point != null && point.startsWith(ECORE_EXTENSION_POINT_PREFIX)) {
+                            extensionPoint = point.substring(ECORE_EXTENSION_POINT_PREFIX.length());
+                        }
+                    } else if (depth == 3 && extensionPoint != null) {
+                        contributions.add(new EcoreContribution(extensionPoint, reader.getLocalName(),
+                                readAttributes(reader)));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == 2) {
+                        extensionPoint = null;
+                    }
+                    depth--;
+                }
+            }
+            return contributions;
+        } catch (XMLStreamException e) {
+            throw new IOException("The plugin.xml could not be parsed.", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> readAttributes(XMLStreamReader reader) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    /**
+     * A single element contributed to an Ecore extension point.
+     */
+    public static final class EcoreContribution {
+
+        private final String extensionPoint;
+        private final String elementName;
+        private final Map<String, String> attributes;
+
+        EcoreContribution(String extensionPoint, String elementName, Map<String, String> attributes) {
+            this.extensionPoint = extensionPoint;
+            this.elementName = elementName;
+            this.attributes = Collections.unmodifiableMap(attributes);
+        }
+
+        /**
+         * @return The identifier of the extension point without the Ecore prefix, e.g.
+         *         "generated_package".
+         */
+        public String getExtensionPoint() {
+            return extensionPoint;
+        }
+
+        /**
+         * @return The name of the contributed element, e.g. "package".
+         */
+        public String getElementName() {
+            return elementName;
+        }
+
+        /**
+         * Determines the value of an attribute of the contributed element.
+         *
+         * @param name
+         *            The name of the attribute.
+         * @return The value or null if the attribute is not set.
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * @return All attributes of the contributed element in the order of their declaration.
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof EcoreContribution)) {
+                return false;
+            }
+            var other = (EcoreContribution) obj;
+            return extensionPoint.equals(other.extensionPoint) && elementName.equals(other.elementName)
+                    && attributes.equals(other.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(extensionPoint, elementName, attributes);
+        }
+
+        @Override
+        public String toString() {
+            return extensionPoint + "/" + elementName + attributes;
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads project names from Eclipse project files and bundle names from Jar-File Manifests.
+ * 
+ * Both readers stream their input and stop as soon as the name has been found. The XML parser
+ * factory is created once per thread and reused for all files.
+ */
+public final class ProjectMetadataReader {
+
+    private static final String PROJECT_NAME_ELEMENT = "name";
+    private static final String BUNDLE_SYMBOLIC_NAME = "Bundle-SymbolicName";
+
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        var factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    });
+
+    private ProjectMetadataReader() {
+        // utility class
+    }
+
+    /**
+     * Reads the name of the project from an Eclipse project file.
+     * 
+     * @param path
+     *            The path of the project file.
+     * @return The name of the project.
+     * @throws IOException
+     *             In case the file could not be read or does not contain a project name.
+     */
+    public static String readProjectName(Path path) throws IOException {
+        try (var in = Files.newInputStream(path)) {
+            return readProjectName(in)
+                .orElseThrow(() -> new IOException("The project file does not contain a name."));
+        }
+    }
+
+    /**
+     * Reads the name of the project from the contents of an Eclipse project file. The stream is
+     * not closed.
+     * 
+     * @param in
+     *            The contents of the project file.
+     * @return The name of the project if the file contains one.
+     * @throws IOException
+     *             In case the contents could not be parsed.
+     */
+    public static Optional<String> readProjectName(InputStream in) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.get()
+                .createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && PROJECT_NAME_ELEMENT.equals(reader.getLocalName())) {
+                    return Optional.of(reader.getElementText()
+                        .trim());
+                }
+            }
+            return Optional.empty();
+        } catch (XMLStreamException e) {
+            throw new IOException("The project file could not be parsed.", e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Reads the symbolic name of a bundle from a Jar-File Manifest. Directives and attributes of
+     * the symbolic name are omitted.
+     * 
+     * @param path
+     *            The path of the manifest.
+     * @return The symbolic name or an empty optional if the manifest does not describe a bundle.
+     * @throws IOException
+     *             In case the file could not be read.
+     */
+    public static Optional<String> readBundleSymbolicName(Path path) throws IOException {
+        try (var in = Files.newInputStream(path)) {
+            return readBundleSymbolicName(in);
+        }
+    }
+
+    /**
+     * Reads the symbolic name of a bundle from the contents of a Jar-File Manifest. The stream is
+     * not closed.
+     * 
+     * @param in
+     *            The contents of the manifest.
+     * @return The symbolic name or an empty optional if the manifest does not describe a bundle.
+     * @throws IOException
+     *             In case the contents could not be read.
+     */
+    public static Optional<String> readBundleSymbolicName(InputStream in) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        StringBuilder value = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (value != null) {
+                if (!line.startsWith(" ")) {
+                    break;
+                }
+                // continuation lines start with a single space
+                value.append(line, 1, line.length());
+                continue;
+            }
+            if (line.isEmpty()) {
+                // the main section ends with the first empty line
+                break;
+            }
+            if (line.regionMatches(true, 0, BUNDLE_SYMBOLIC_NAME, 0, BUNDLE_SYMBOLIC_NAME.length())
+                    && line.length() > BUNDLE_SYMBOLIC_NAME.length()
+                    && line.charAt(BUNDLE_SYMBOLIC_NAME.length()) == ':') {
+                value = new StringBuilder(line.substring(BUNDLE_SYMBOLIC_NAME.length() + 1));
+            }
+        }
+        if (value == null) {
+            return Optional.empty();
+        }
+        var separator = value.indexOf(";");
+        var name = (separator >= 0 ? value.substring(0, separator) : value.toString()).trim();
+        return name.isEmpty() ? Optional.empty() : Optional.of(name);
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // nothing left to release
+            }
+        }
+    }
+
+}
@@ -3,8 +3,6 @@ package tools.mdsd.library.standalone.initialization.impl;
 import java.util.Optional;
 
 import org.eclipse.emf.common.util.URI;
-import org.eclipse.emf.ecore.plugin.EcorePlugin;
-import org.eclipse.emf.ecore.resource.impl.URIMappingRegistryImpl;
 
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
@@ -32,6 +30,27 @@ public class ProjectURIByURIRegistration implements InitializationTask {
         this.projectName = projectName;
     }
 
+    @Override
+    public String getDescription() {
+        return "Project registration of " + projectName;
+    }
+
+    @Override
+    public Optional<String> getIdentityKey() {
+        return realProjectURI.map(uri -> identityKeyPrefix(projectName) + uri);
+    }
+
+    /**
+     * Provides the common prefix of the identity keys of all registrations of a project.
+     *
+     * @param projectName
+     *            The name of the project.
+     * @return The prefix, which is followed by the location of the project.
+     */
+    static String identityKeyPrefix(String projectName) {
+        return "project:" + projectName + "@";
+    }
+
     @Override
     public void initilizationWithoutPlatform() throws StandaloneInitializationException {
         var projectURI = realProjectURI.orElseThrow(() -> new StandaloneInitializationException(
@@ -39,11 +58,11 @@ public class ProjectURIByURIRegistration implements InitializationTask {
         if (!projectURI.hasTrailingPathSeparator()) {
             projectURI = projectURI.appendSegment("");
         }
-        EcorePlugin.getPlatformResourceMap()
-            .put(projectName, projectURI);
+        RegistryStage.putPlatformResource(projectName, projectURI);
+        RegisteredArchives.register(projectURI);
         var pluginURI = URI.createPlatformPluginURI("/" + projectName + "/", false);
         var platformURI = URI.createPlatformResourceURI("/" + projectName + "/", false);
-        URIMappingRegistryImpl.INSTANCE.put(pluginURI, platformURI);
+        RegistryStage.putURIMapping(pluginURI, platformURI);
     }
 
 }
@@ -0,0 +1,136 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * Descriptors that refer to a class by its name and load the class on first access.
+ *
+ * They correspond to the descriptors EMF registers for the contributions to its extension points,
+ * but resolve classes by a given class loader instead of a bundle.
+ */
+public final class ReflectiveDescriptors {
+
+    private ReflectiveDescriptors() {
+        // utility class
+    }
+
+    /**
+     * Creates a descriptor of a generated package.
+     *
+     * @param className
+     *            The name of the package interface holding the "eINSTANCE" field.
+     * @param classLoader
+     *            The class loader to load the class with.
+     * @return The descriptor.
+     */
+    public static EPackage.Descriptor generatedPackage(String className, ClassLoader classLoader) {
+        return new GeneratedPackageDescriptor(className, classLoader);
+    }
+
+    /**
+     * Creates a descriptor that replaces the factory of a package.
+     *
+     * @param className
+     *            The name of the factory class with a public default constructor.
+     * @param overridden
+     *            The package or descriptor registered before or null.
+     * @param classLoader
+     *            The class loader to load the class with.
+     * @return The descriptor.
+     */
+    public static EPackage.Descriptor factoryOverride(String className, Object overridden,
+            ClassLoader classLoader) {
+        return new FactoryOverrideDescriptor(className, overridden, classLoader);
+    }
+
+    /**
+     * Creates a descriptor of a resource factory.
+     *
+     * @param className
+     *            The name of the resource factory class with a public default constructor.
+     * @param classLoader
+     *            The class loader to load the class with.
+     * @return The descriptor.
+     */
+    public static Resource.Factory.Descriptor resourceFactory(String className, ClassLoader classLoader) {
+        return () -> instantiate(className, Resource.Factory.class, classLoader);
+    }
+
+    private static <T> T instantiate(String className, Class<T> type, ClassLoader classLoader) {
+        try {
+            return type.cast(classLoader.loadClass(className)
+                .getDeclaredConstructor()
+                .newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new WrappedException(e);
+        }
+    }
+
+    /**
+     * Descriptor of a generated package.
+     */
+    private static class GeneratedPackageDescriptor implements EPackage.Descriptor {
+
+        private final String className;
+        private final ClassLoader classLoader;
+
+        GeneratedPackageDescriptor(String className, ClassLoader classLoader) {
+            this.className = className;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public EPackage getEPackage() {
+            try {
+                return (EPackage) classLoader.loadClass(className)
+                    .getField("eINSTANCE")
+                    .get(null);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new WrappedException(e);
+            }
+        }
+
+        @Override
+        public EFactory getEFactory() {
+            // generated factories are looked up while their package is initialized, so the package
+            // must not be accessed here; the factory is created by the package itself instead
+            return null;
+        }
+    }
+
+    /**
+     * Descriptor of a package whose factory has been replaced.
+     */
+    private static class FactoryOverrideDescriptor implements EPackage.Descriptor {
+
+        private final String className;
+        private final Object overridden;
+        private final ClassLoader classLoader;
+
+        FactoryOverrideDescriptor(String className, Object overridden, ClassLoader classLoader) {
+            this.className = className;
+            this.overridden = overridden;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public EPackage getEPackage() {
+            if (overridden instanceof EPackage) {
+                return (EPackage) overridden;
+            }
+            if (overridden instanceof EPackage.Descriptor) {
+                return ((EPackage.Descriptor) overridden).getEPackage();
+            }
+            return null;
+        }
+
+        @Override
+        public EFactory getEFactory() {
+            return instantiate(className, EFactory.class, classLoader);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIHandler;
+
+/**
+ * The local archives that host registered projects or plugins.
+ *
+ * Registration tasks record the archives here, so the
+ * {@link tools.mdsd.library.standalone.initialization.core.ArchiveFileSystemURIHandler} can keep
+ * them open. Once the handler is installed globally, the resource sets of the initialization tasks
+ * install it as well.
+ */
+public final class RegisteredArchives {
+
+    private static final Set<Path> ARCHIVES = ConcurrentHashMap.newKeySet();
+    private static volatile URIHandler globalHandler;
+
+    private RegisteredArchives() {
+        // utility class
+    }
+
+    /**
+     * Records the archive referenced by the given URI.
+     *
+     * @param uri
+     *            An archive URI such as "jar:file:/path/project.jar!/". Other URIs are ignored.
+     * @return True if the URI references a local archive.
+     */
+    public static boolean register(URI uri) {
+        var archive = toArchivePath(uri);
+        if (archive == null) {
+            return false;
+        }
+        ARCHIVES.add(archive);
+        return true;
+    }
+
+    /**
+     * Determines if the archive referenced by the given URI has been recorded.
+     *
+     * @param uri
+     *            Any URI.
+     * @return The path of the recorded archive or null if the URI does not reference a recorded
+     *         local archive.
+     */
+    public static Path getRegisteredArchive(URI uri) {
+        var archive = toArchivePath(uri);
+        return archive != null && ARCHIVES.contains(archive) ? archive : null;
+    }
+
+    /**
+     * Sets the handler that has been installed into the global URI converter.
+     *
+     * @param handler
+     *            The handler reading the recorded archives.
+     */
+    public static void setGlobalHandler(URIHandler handler) {
+        globalHandler = handler;
+    }
+
+    /**
+     * Installs the global handler into the URI converter of the given resource set unless it is
+     * already installed. Nothing is changed if no handler has been installed globally.
+     *
+     * @param resourceSet
+     *            The resource set.
+     */
+    public static void installHandler(ResourceSet resourceSet) {
+        var handler = globalHandler;
+        if (handler == null) {
+            return;
+        }
+        var handlers = resourceSet.getURIConverter()
+            .getURIHandlers();
+        synchronized (handlers) {
+            if (!handlers.contains(handler)) {
+                handlers.add(0, handler);
+            }
+        }
+    }
+
+    /**
+     * Determines the local archive referenced by an archive URI.
+     *
+     * @param uri
+     *            Any URI.
+     * @return The normalized path of the archive or null if the URI does not reference an entry of
+     *         a local, non-nested archive.
+     */
+    public static Path toArchivePath(URI uri) {
+        if (uri == null || !uri.isArchive()) {
+            return null;
+        }
+        var authority = uri.authority();
+        if (authority == null || !authority.endsWith("!")) {
+            return null;
+        }
+        var archiveURI = URI.createURI(authority.substring(0, authority.length() - 1));
+        if (!archiveURI.isFile() || archiveURI.isArchive()) {
+            return null;
+        }
+        return Path.of(archiveURI.toFileString())
+            .toAbsolutePath()
+            .normalize();
+    }
+
+}
@@ -0,0 +1,395 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * Collects the registrations of an initialization task before they are published to the
+ * registries.
+ *
+ * The initializers open a stage for the executing thread before a task runs and publish it after
+ * the task succeeded, so the registrations of a task become visible together and only if the task
+ * succeeded. Staging does not need any lock, and publishing holds the lock of each registry only
+ * once per task instead of once per registration. Therefore, tasks on different threads and
+ * concurrent initializers do not contend on the registries while they work.
+ *
+ * Tasks write through the static methods of this class. Without an open stage, e.g. if a task is
+ * executed directly, the registrations are published to the global registries immediately.
+ *
+ * A task can use its own registrations before they are published: resource sets created by
+ * {@link RegistryTarget#createResourceSet()} on the thread of the task resolve the staged project
+ * locations, URI mappings, resource factories and packages, see {@link #applyStaged(RegistryTarget,
+ * ResourceSet)}. Resource sets created otherwise only see published registrations.
+ */
+public final class RegistryStage {
+
+    private static final ThreadLocal<RegistryStage> CURRENT = new ThreadLocal<>();
+
+    private final RegistryTarget target;
+    private final RegistryStage enclosing;
+    private final Map<String, URI> platformResources = new LinkedHashMap<>();
+    private final Map<URI, URI> uriMappings = new LinkedHashMap<>();
+    private final Map<String, URI> genModelLocations = new LinkedHashMap<>();
+    private final Map<String, URI> dynamicModelLocations = new LinkedHashMap<>();
+    private final Map<String, Object> extensionFactories = new LinkedHashMap<>();
+    private final Map<String, Object> protocolFactories = new LinkedHashMap<>();
+    private final Map<String, Object> contentTypeFactories = new LinkedHashMap<>();
+    private final Map<String, Object> packages = new LinkedHashMap<>();
+    private final Set<String> removedPlatformResources = new LinkedHashSet<>();
+    private final Set<URI> removedURIMappings = new LinkedHashSet<>();
+    private boolean closed;
+
+    private RegistryStage(RegistryTarget target, RegistryStage enclosing) {
+        this.target = target;
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Opens a stage for the current thread. A stage opened while another stage is open on the same
+     * thread is merged into the enclosing stage if both have the same target.
+     *
+     * @param target
+     *            The registries to publish to.
+     * @return The stage, which has to be committed or discarded by the same thread.
+     */
+    public static RegistryStage open(RegistryTarget target) {
+        var stage = new RegistryStage(target, CURRENT.get());
+        CURRENT.set(stage);
+        return stage;
+    }
+
+    /**
+     * Provides the target of the stage open on the current thread.
+     *
+     * @return The target or the global registries if no stage is open.
+     */
+    public static RegistryTarget currentTarget() {
+        var stage = CURRENT.get();
+        return stage == null ? GlobalRegistryTarget.INSTANCE : stage.target;
+    }
+
+    /**
+     * Publishes the registrations and closes the stage.
+     */
+    public void commit() {
+        close();
+        if (enclosing != null && enclosing.target == target) {
+            enclosing.merge(this);
+        } else {
+            target.publish(this);
+        }
+    }
+
+    /**
+     * Drops the registrations and closes the stage.
+     */
+    public void discard() {
+        close();
+    }
+
+    private void close() {
+        if (closed) {
+            throw new IllegalStateException("The registry stage has already been closed.");
+        }
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("The registry stage is not the current stage of this thread.");
+        }
+        closed = true;
+        if (enclosing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(enclosing);
+        }
+    }
+
+    private void merge(RegistryStage other) {
+        other.removedPlatformResources.forEach(this::stageRemovePlatformResource);
+        other.removedURIMappings.forEach(this::stageRemoveURIMapping);
+        other.platformResources.forEach(this::stagePlatformResource);
+        other.uriMappings.forEach(this::stageURIMapping);
+        genModelLocations.putAll(other.genModelLocations);
+        dynamicModelLocations.putAll(other.dynamicModelLocations);
+        extensionFactories.putAll(other.extensionFactories);
+        protocolFactories.putAll(other.protocolFactories);
+        contentTypeFactories.putAll(other.contentTypeFactories);
+        packages.putAll(other.packages);
+    }
+
+    /**
+     * Registers the location of a project.
+     *
+     * @param projectName
+     *            The name of the project.
+     * @param location
+     *            The location of the project with trailing separator.
+     */
+    public static void putPlatformResource(String projectName, URI location) {
+        write(stage -> stage.stagePlatformResource(projectName, location));
+    }
+
+    /**
+     * Removes the location of a project. Removals are published before the registrations.
+     *
+     * @param projectName
+     *            The name of the project.
+     */
+    public static void removePlatformResource(String projectName) {
+        write(stage -> stage.stageRemovePlatformResource(projectName));
+    }
+
+    /**
+     * Registers a URI mapping.
+     *
+     * @param source
+     *            The URI or URI prefix to map.
+     * @param mapped
+     *            The URI it is mapped to.
+     */
+    public static void putURIMapping(URI source, URI mapped) {
+        write(stage -> stage.stageURIMapping(source, mapped));
+    }
+
+    /**
+     * Removes a URI mapping. Removals are published before the registrations.
+     *
+     * @param source
+     *            The mapped URI or URI prefix.
+     */
+    public static void removeURIMapping(URI source) {
+        write(stage -> stage.stageRemoveURIMapping(source));
+    }
+
+    private void stagePlatformResource(String projectName, URI location) {
+        removedPlatformResources.remove(projectName);
+        platformResources.put(projectName, location);
+    }
+
+    private void stageRemovePlatformResource(String projectName) {
+        platformResources.remove(projectName);
+        removedPlatformResources.add(projectName);
+    }
+
+    private void stageURIMapping(URI source, URI mapped) {
+        removedURIMappings.remove(source);
+        uriMappings.put(source, mapped);
+    }
+
+    private void stageRemoveURIMapping(URI source) {
+        uriMappings.remove(source);
+        removedURIMappings.add(source);
+    }
+
+    /**
+     * Registers the location of the generator model of a package.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @param location
+     *            The location of the generator model.
+     */
+    public static void putGenModelLocation(String nsURI, URI location) {
+        write(stage -> stage.genModelLocations.put(nsURI, location));
+    }
+
+    /**
+     * Registers the location of a dynamic package.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @param location
+     *            The location of the package.
+     */
+    public static void putDynamicModelLocation(String nsURI, URI location) {
+        write(stage -> stage.dynamicModelLocations.put(nsURI, location));
+    }
+
+    /**
+     * Registers a resource factory by file extension.
+     *
+     * @param extension
+     *            The file extension.
+     * @param factory
+     *            The factory or its descriptor.
+     */
+    public static void putExtensionFactory(String extension, Object factory) {
+        write(stage -> stage.extensionFactories.put(extension, factory));
+    }
+
+    /**
+     * Registers a resource factory by URI scheme.
+     *
+     * @param protocol
+     *            The URI scheme.
+     * @param factory
+     *            The factory or its descriptor.
+     */
+    public static void putProtocolFactory(String protocol, Object factory) {
+        write(stage -> stage.protocolFactories.put(protocol, factory));
+    }
+
+    /**
+     * Registers a resource factory by content type.
+     *
+     * @param contentType
+     *            The content type identifier.
+     * @param factory
+     *            The factory or its descriptor.
+     */
+    public static void putContentTypeFactory(String contentType, Object factory) {
+        write(stage -> stage.contentTypeFactories.put(contentType, factory));
+    }
+
+    /**
+     * Registers a package.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @param ePackage
+     *            The package or its descriptor.
+     */
+    public static void putPackage(String nsURI, Object ePackage) {
+        write(stage -> stage.packages.put(nsURI, ePackage));
+    }
+
+    /**
+     * Looks up a package registration including the registrations staged by the current thread.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @return The package, the package descriptor or null if nothing is registered.
+     */
+    public static Object getPackage(String nsURI) {
+        var target = currentTarget();
+        for (var stage = CURRENT.get(); stage != null && stage.target == target; stage = stage.enclosing) {
+            if (stage.packages.containsKey(nsURI)) {
+                return stage.packages.get(nsURI);
+            }
+        }
+        return target.getPackage(nsURI);
+    }
+
+    /**
+     * Adds the registrations staged by the current thread for the given target to a resource set,
+     * so it resolves the locations and packages a task registered before they are published. Staged
+     * removals are not applied.
+     *
+     * @param target
+     *            The target that created the resource set.
+     * @param resourceSet
+     *            The resource set.
+     */
+    static void applyStaged(RegistryTarget target, ResourceSet resourceSet) {
+        List<RegistryStage> stages = new ArrayList<>();
+        for (var stage = CURRENT.get(); stage != null && stage.target == target; stage = stage.enclosing) {
+            // enclosing stages first, so registrations of nested stages win
+            stages.add(0, stage);
+        }
+        for (RegistryStage stage : stages) {
+            var uriMap = resourceSet.getURIConverter()
+                .getURIMap();
+            stage.platformResources.forEach((projectName, location) -> uriMap
+                .put(URI.createPlatformResourceURI("/" + projectName + "/", false), location));
+            uriMap.putAll(stage.uriMappings);
+            var factoryRegistry = resourceSet.getResourceFactoryRegistry();
+            factoryRegistry.getExtensionToFactoryMap()
+                .putAll(stage.extensionFactories);
+            factoryRegistry.getProtocolToFactoryMap()
+                .putAll(stage.protocolFactories);
+            factoryRegistry.getContentTypeToFactoryMap()
+                .putAll(stage.contentTypeFactories);
+            resourceSet.getPackageRegistry()
+                .putAll(stage.packages);
+        }
+    }
+
+    private static void write(Consumer<RegistryStage> registration) {
+        var stage = CURRENT.get();
+        if (stage != null) {
+            registration.accept(stage);
+        } else {
+            var immediate = new RegistryStage(GlobalRegistryTarget.INSTANCE, null);
+            registration.accept(immediate);
+            GlobalRegistryTarget.INSTANCE.publish(immediate);
+        }
+    }
+
+    /**
+     * @return The staged project locations by project name.
+     */
+    public Map<String, URI> getPlatformResources() {
+        return Collections.unmodifiableMap(platformResources);
+    }
+
+    /**
+     * @return The names of the projects whose locations are removed.
+     */
+    public Set<String> getRemovedPlatformResources() {
+        return Collections.unmodifiableSet(removedPlatformResources);
+    }
+
+    /**
+     * @return The staged URI mappings.
+     */
+    public Map<URI, URI> getURIMappings() {
+        return Collections.unmodifiableMap(uriMappings);
+    }
+
+    /**
+     * @return The URIs and URI prefixes whose mappings are removed.
+     */
+    public Set<URI> getRemovedURIMappings() {
+        return Collections.unmodifiableSet(removedURIMappings);
+    }
+
+    /**
+     * @return The staged generator model locations by namespace URI.
+     */
+    public Map<String, URI> getGenModelLocations() {
+        return Collections.unmodifiableMap(genModelLocations);
+    }
+
+    /**
+     * @return The staged dynamic package locations by namespace URI.
+     */
+    public Map<String, URI> getDynamicModelLocations() {
+        return Collections.unmodifiableMap(dynamicModelLocations);
+    }
+
+    /**
+     * @return The staged resource factories by file extension.
+     */
+    public Map<String, Object> getExtensionFactories() {
+        return Collections.unmodifiableMap(extensionFactories);
+    }
+
+    /**
+     * @return The staged resource factories by URI scheme.
+     */
+    public Map<String, Object> getProtocolFactories() {
+        return Collections.unmodifiableMap(protocolFactories);
+    }
+
+    /**
+     * @return The staged resource factories by content type.
+     */
+    public Map<String, Object> getContentTypeFactories() {
+        return Collections.unmodifiableMap(contentTypeFactories);
+    }
+
+    /**
+     * @return The staged packages and package descriptors by namespace URI.
+     */
+    public Map<String, Object> getPackages() {
+        return Collections.unmodifiableMap(packages);
+    }
+
+}
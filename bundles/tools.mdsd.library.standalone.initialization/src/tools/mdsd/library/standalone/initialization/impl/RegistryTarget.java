@@ -0,0 +1,55 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * The registries that receive the registrations of a {@link RegistryStage}.
+ */
+public interface RegistryTarget {
+
+    /**
+     * Publishes the registrations of a stage. Implementations hold each lock only for copying the
+     * entries of the respective registry.
+     *
+     * @param stage
+     *            The stage to publish.
+     */
+    void publish(RegistryStage stage);
+
+    /**
+     * Looks up a published package registration without resolving descriptors.
+     *
+     * @param nsURI
+     *            The namespace URI of the package.
+     * @return The package, the package descriptor or null if nothing is registered.
+     */
+    Object getPackage(String nsURI);
+
+    /**
+     * Provides the package registry receiving the published packages. Readers iterating the
+     * registry have to lock it.
+     *
+     * @return The package registry.
+     */
+    EPackage.Registry getPackageRegistry();
+
+    /**
+     * Determines if the location of a project has been published.
+     *
+     * @param projectName
+     *            The name of the project.
+     * @return True if platform URIs of the project can be resolved.
+     */
+    boolean isProjectRegistered(String projectName);
+
+    /**
+     * Creates a resource set that resolves URIs, packages and resource factories by the
+     * registrations of this target and by the registrations staged for this target by the current
+     * thread.
+     *
+     * @return The new resource set.
+     */
+    ResourceSet createResourceSet();
+
+}
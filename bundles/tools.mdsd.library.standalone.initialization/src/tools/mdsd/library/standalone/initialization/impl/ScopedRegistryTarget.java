@@ -0,0 +1,216 @@
+package tools.mdsd.library.standalone.initialization.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryRegistryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.resource.impl.URIMappingRegistryImpl;
+
+/**
+ * Registries of their own that receive the registrations instead of the global EMF registries.
+ *
+ * The package registry, the URI map and the resource factory registry of the target delegate to
+ * their global counterparts, so packages and factories registered globally, e.g. by the classpath
+ * detection, remain visible. Projects are registered by mapping their platform resource URIs in the
+ * URI map of the target, so projects of different targets may share names.
+ *
+ * The resource sets created by the target resolve URIs, packages and factories by the
+ * registrations of the target. Registrations that are added to a resource set do not affect the
+ * target.
+ */
+public class ScopedRegistryTarget implements RegistryTarget {
+
+    private final EPackageRegistryImpl packageRegistry = new EPackageRegistryImpl(EPackage.Registry.INSTANCE);
+    private final URIMappingRegistryImpl uriMap = new DelegatingURIMappingRegistry(URIMappingRegistryImpl.INSTANCE);
+    private final ResourceFactoryRegistryImpl factoryRegistry = new DelegatingResourceFactoryRegistry(
+            Resource.Factory.Registry.INSTANCE);
+    private final Map<String, URI> platformResources = new LinkedHashMap<>();
+    private final Map<String, URI> genModelLocations = new LinkedHashMap<>();
+    private final Map<String, URI> dynamicModelLocations = new LinkedHashMap<>();
+
+    @Override
+    public void publish(RegistryStage stage) {
+        synchronized (platformResources) {
+            platformResources.keySet()
+                .removeAll(stage.getRemovedPlatformResources());
+            platformResources.putAll(stage.getPlatformResources());
+        }
+        synchronized (uriMap) {
+            for (String projectName : stage.getRemovedPlatformResources()) {
+                uriMap.remove(platformResourceURI(projectName));
+            }
+            for (URI source : stage.getRemovedURIMappings()) {
+                uriMap.remove(source);
+            }
+            for (var project : stage.getPlatformResources()
+                .entrySet()) {
+                uriMap.put(platformResourceURI(project.getKey()), project.getValue());
+            }
+            uriMap.putAll(stage.getURIMappings());
+        }
+        putAll(genModelLocations, stage.getGenModelLocations());
+        putAll(dynamicModelLocations, stage.getDynamicModelLocations());
+        putAll(factoryRegistry.getExtensionToFactoryMap(), stage.getExtensionFactories(), factoryRegistry);
+        putAll(factoryRegistry.getProtocolToFactoryMap(), stage.getProtocolFactories(), factoryRegistry);
+        putAll(factoryRegistry.getContentTypeToFactoryMap(), stage.getContentTypeFactories(), factoryRegistry);
+        putAll(packageRegistry, stage.getPackages());
+    }
+
+    @Override
+    public Object getPackage(String nsURI) {
+        synchronized (packageRegistry) {
+            var registered = packageRegistry.get(nsURI);
+            if (registered != null) {
+                return registered;
+            }
+        }
+        return GlobalRegistryTarget.INSTANCE.getPackage(nsURI);
+    }
+
+    @Override
+    public boolean isProjectRegistered(String projectName) {
+        synchronized (platformResources) {
+            return platformResources.containsKey(projectName);
+        }
+    }
+
+    @Override
+    public ResourceSet createResourceSet() {
+        var resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(new EPackageRegistryImpl(packageRegistry));
+        resourceSet.setURIConverter(new ScopedURIConverter(uriMap));
+        resourceSet.setResourceFactoryRegistry(new DelegatingResourceFactoryRegistry(factoryRegistry));
+        RegisteredArchives.installHandler(resourceSet);
+        RegistryStage.applyStaged(this, resourceSet);
+        return resourceSet;
+    }
+
+    /**
+     * @return The package registry, which delegates to the global package registry.
+     */
+    @Override
+    public EPackage.Registry getPackageRegistry() {
+        return packageRegistry;
+    }
+
+    /**
+     * @return The URI map, which delegates to the global URI mappings.
+     */
+    public Map<URI, URI> getURIMap() {
+        return uriMap.map();
+    }
+
+    /**
+     * @return The resource factory registry, which delegates to the global registry.
+     */
+    public Resource.Factory.Registry getResourceFactoryRegistry() {
+        return factoryRegistry;
+    }
+
+    /**
+     * @return A copy of the locations of the registered projects by project name.
+     */
+    public Map<String, URI> getPlatformResources() {
+        return copy(platformResources);
+    }
+
+    /**
+     * @return A copy of the generator model locations by namespace URI.
+     */
+    public Map<String, URI> getGenModelLocations() {
+        return copy(genModelLocations);
+    }
+
+    /**
+     * @return A copy of the dynamic package locations by namespace URI.
+     */
+    public Map<String, URI> getDynamicModelLocations() {
+        return copy(dynamicModelLocations);
+    }
+
+    private static URI platformResourceURI(String projectName) {
+        return URI.createPlatformResourceURI("/" + projectName + "/", false);
+    }
+
+    private static <K, V> Map<K, V> copy(Map<K, V> map) {
+        synchronized (map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        }
+    }
+
+    private static <K, V> void putAll(Map<K, V> registry, Map<K, V> registrations) {
+        putAll(registry, registrations, registry);
+    }
+
+    private static <K, V> void putAll(Map<K, V> registry, Map<K, V> registrations, Object lock) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            registry.putAll(registrations);
+        }
+    }
+
+    /**
+     * URI mappings that fall back to other mappings.
+     */
+    private static class DelegatingURIMappingRegistry extends URIMappingRegistryImpl {
+        private static final long serialVersionUID = 1L;
+
+        private final transient URIMappingRegistryImpl delegate;
+
+        DelegatingURIMappingRegistry(URIMappingRegistryImpl delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected URI delegatedGetURI(URI uri) {
+            return delegate.getURI(uri);
+        }
+    }
+
+    /**
+     * Resource factories that fall back to another registry.
+     */
+    private static class DelegatingResourceFactoryRegistry extends ResourceFactoryRegistryImpl {
+        private final Resource.Factory.Registry delegate;
+
+        DelegatingResourceFactoryRegistry(Resource.Factory.Registry delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected Resource.Factory delegatedGetFactory(URI uri, String contentTypeIdentifier) {
+            return delegate.getFactory(uri, contentTypeIdentifier);
+        }
+    }
+
+    /**
+     * URI converter of a resource set whose own URI map falls back to the URI map of the target
+     * instead of the global URI mappings.
+     */
+    private static class ScopedURIConverter extends ExtensibleURIConverterImpl {
+        private final URIMappingRegistryImpl scopeURIMap;
+
+        ScopedURIConverter(URIMappingRegistryImpl scopeURIMap) {
+            this.scopeURIMap = scopeURIMap;
+        }
+
+        @Override
+        protected URIMap getInternalURIMap() {
+            if (uriMap == null) {
+                uriMap = (URIMap) new DelegatingURIMappingRegistry(scopeURIMap).map();
+            }
+            return uriMap;
+        }
+    }
+
+}
@@ -1,11 +1,15 @@
 package tools.mdsd.library.standalone.initialization.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import tools.mdsd.library.standalone.initialization.InitializationFuture;
 import tools.mdsd.library.standalone.initialization.InitializationTask;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializationException;
 import tools.mdsd.library.standalone.initialization.StandaloneInitializer;
+import tools.mdsd.library.standalone.initialization.impl.InitializationObserver.Initialization;
 
 /**
  * Implementation of an {@link StandaloneInitializer} that executes all registered
@@ -14,22 +18,47 @@ import tools.mdsd.library.standalone.initialization.StandaloneInitializer;
 public class StandaloneInitializerImpl implements StandaloneInitializer {
 
     private final List<InitializationTask> tasks = new ArrayList<>();
+    private final InitializationObserver observer;
 
     /**
      * Constructs the initializer.
-     * 
+     *
      * @param tasks
      *            All tasks to be executed in the given sequence during initialization.
      */
     public StandaloneInitializerImpl(List<InitializationTask> tasks) {
+        this(tasks, new InitializationObserver(Collections.emptyList()));
+    }
+
+    /**
+     * Constructs the initializer that executes the tasks via the given observer.
+     *
+     * @param tasks
+     *            All tasks to be executed in the given sequence during initialization.
+     * @param observer
+     *            The observer that executes the tasks and notifies the listeners.
+     */
+    public StandaloneInitializerImpl(List<InitializationTask> tasks, InitializationObserver observer) {
         this.tasks.addAll(tasks);
+        this.observer = observer;
     }
 
     @Override
     public void init() throws StandaloneInitializationException {
-        for (InitializationTask task : tasks) {
-            task.init();
-        }
+        observer.observeInitialization(tasks.size(), createInitialization(observer));
+    }
+
+    @Override
+    public InitializationFuture initAsync(Executor executor) {
+        return observer.observeInitializationAsync(executor, tasks.size(), this::createInitialization);
+    }
+
+    private Initialization createInitialization(InitializationObserver runObserver) {
+        return () -> {
+            for (InitializationTask task : tasks) {
+                runObserver.runTask(task);
+            }
+        };
     }
 
 }
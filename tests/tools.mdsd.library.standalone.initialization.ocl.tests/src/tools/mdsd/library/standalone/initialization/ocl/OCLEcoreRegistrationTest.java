@@ -0,0 +1,150 @@
+package tools.mdsd.library.standalone.initialization.ocl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EModelElement;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.ocl.ecore.delegate.OCLDelegateDomain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs against the OCL bundles, so it is executed by Tycho in an OSGi runtime.
+ */
+class OCLEcoreRegistrationTest {
+
+    private static final String OCL = OCLDelegateDomain.OCL_DELEGATE_URI;
+
+    private final List<String> nsURIs = new ArrayList<>();
+
+    @AfterEach
+    void unregisterPackages() {
+        synchronized (EPackageRegistryImpl.INSTANCE) {
+            nsURIs.forEach(EPackageRegistryImpl.INSTANCE::remove);
+        }
+    }
+
+    @Test
+    void reportsTheExpressionsThatCannotBeParsed() {
+        register("pages * 2");
+        var broken = register("pages *");
+        var task = new OCLEcoreRegistration(true);
+
+        task.initilizationWithoutPlatform();
+
+        assertEquals(List.of(broken.getNsURI() + "#//Book/doublePages@body"), ownFailures(task));
+    }
+
+    @Test
+    void evaluatesThePreParsedExpressions() throws InvocationTargetException {
+        var ePackages = new ArrayList<EPackage>();
+        for (var i = 0; i < 16; i++) {
+            ePackages.add(register("pages * 2"));
+        }
+        var task = new OCLEcoreRegistration(true);
+
+        task.initilizationWithoutPlatform();
+
+        assertEquals(List.of(), ownFailures(task));
+        for (var ePackage : ePackages) {
+            var book = (EClass) ePackage.getEClassifier("Book");
+            var instance = EcoreUtil.create(book);
+            instance.eSet(book.getEStructuralFeature("pages"), 600);
+            assertEquals(true, instance.eGet(book.getEStructuralFeature("thick")));
+            assertEquals(1200, instance.eInvoke(book.getEOperations()
+                .get(0), new BasicEList<>()));
+            assertEquals(Diagnostic.OK, Diagnostician.INSTANCE.validate(instance)
+                .getSeverity());
+        }
+    }
+
+    /**
+     * Registers a package with a class that uses an invariant, a derived attribute and an
+     * operation with the given body.
+     */
+    private EPackage register(String operationBody) {
+        var factory = EcoreFactory.eINSTANCE;
+        var ePackage = factory.createEPackage();
+        var nsURI = "http://example.org/ocl-" + UUID.randomUUID();
+        ePackage.setName("library");
+        ePackage.setNsPrefix("library");
+        ePackage.setNsURI(nsURI);
+        annotate(ePackage, EcorePackage.eNS_URI, Map.of("invocationDelegates", OCL, "settingDelegates", OCL,
+                "validationDelegates", OCL));
+
+        var book = factory.createEClass();
+        book.setName("Book");
+        annotate(book, EcorePackage.eNS_URI, Map.of("constraints", "positivePages"));
+        annotate(book, OCL, Map.of("positivePages", "pages > 0"));
+        ePackage.getEClassifiers()
+            .add(book);
+
+        var pages = factory.createEAttribute();
+        pages.setName("pages");
+        pages.setEType(EcorePackage.Literals.EINT);
+        book.getEStructuralFeatures()
+            .add(pages);
+
+        var thick = factory.createEAttribute();
+        thick.setName("thick");
+        thick.setEType(EcorePackage.Literals.EBOOLEAN);
+        thick.setDerived(true);
+        thick.setTransient(true);
+        thick.setVolatile(true);
+        thick.setChangeable(false);
+        annotate(thick, OCL, Map.of("derivation", "pages > 500"));
+        book.getEStructuralFeatures()
+            .add(thick);
+
+        var doublePages = factory.createEOperation();
+        doublePages.setName("doublePages");
+        doublePages.setEType(EcorePackage.Literals.EINT);
+        annotate(doublePages, OCL, Map.of("body", operationBody));
+        book.getEOperations()
+            .add(doublePages);
+
+        // the resource makes the locations of the expressions start with the namespace URI
+        new ResourceImpl(URI.createURI(nsURI)).getContents()
+            .add(ePackage);
+        EPackage.Registry.INSTANCE.put(nsURI, ePackage);
+        nsURIs.add(nsURI);
+        return ePackage;
+    }
+
+    private static void annotate(EModelElement element, String source, Map<String, String> details) {
+        var annotation = EcoreFactory.eINSTANCE.createEAnnotation();
+        annotation.setSource(source);
+        annotation.getDetails()
+            .putAll(details);
+        element.getEAnnotations()
+            .add(annotation);
+    }
+
+    private List<String> ownFailures(OCLEcoreRegistration task) {
+        // packages registered by other bundles are parsed as well
+        return task.getParseFailures()
+            .keySet()
+            .stream()
+            .filter(location -> nsURIs.stream()
+                .anyMatch(location::startsWith))
+            .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,73 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.emf.common.util.URI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.mdsd.library.standalone.initialization.core.ArchiveFileSystemURIHandler;
+
+class ArchiveFileSystemURIHandlerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsArchivesConcurrently() throws IOException, InterruptedException, ExecutionException {
+        List<URI> archives = new ArrayList<>();
+        for (var i = 0; i < 3; i++) {
+            var archive = writeArchive(directory.resolve("archive" + i + ".jar"), "content " + i);
+            assertTrue(ArchiveFileSystemURIHandler.registerArchive(archive));
+            archives.add(archive);
+        }
+        // fewer open archives than archives, so archives are evicted while others are read
+        var handler = new ArchiveFileSystemURIHandler(1);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> reads = new ArrayList<>();
+            for (var i = 0; i < 300; i++) {
+                var archive = archives.get(i % archives.size());
+                reads.add(() -> {
+                    try (var in = handler.createInputStream(archive.appendSegment("entry.txt"),
+                            Collections.emptyMap())) {
+                        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                    }
+                });
+            }
+            var results = executor.invokeAll(reads);
+            for (var i = 0; i < results.size(); i++) {
+                Future<String> result = results.get(i);
+                assertEquals("content " + i % archives.size(), result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+            handler.closeArchives();
+        }
+    }
+
+    private static URI writeArchive(Path path, String content) throws IOException {
+        try (var out = new ZipOutputStream(Files.newOutputStream(path))) {
+            out.putNextEntry(new ZipEntry("entry.txt"));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return URI.createURI("jar:" + URI.createFileURI(path.toString()) + "!/");
+    }
+
+}
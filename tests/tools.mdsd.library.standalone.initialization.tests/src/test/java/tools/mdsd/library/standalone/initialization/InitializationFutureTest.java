@@ -0,0 +1,58 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class InitializationFutureTest {
+
+    @Test
+    void completesIfAListenerFailsWhenTheInitializationFinished() {
+        var failure = new IllegalStateException("listener failed");
+        var future = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(() -> {
+            })
+            .addInitializationListener(new InitializationListener() {
+                @Override
+                public void initializationFinished(Duration elapsed, Throwable initializationFailure) {
+                    throw failure;
+                }
+            })
+            .build()
+            .initAsync();
+
+        var thrown = assertThrows(ExecutionException.class, () -> future.get(3, TimeUnit.SECONDS));
+
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void completesIfAListenerFailsWhenTheInitializationStarted() {
+        var failure = new IllegalStateException("listener failed");
+        var future = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addInitializationListener(new InitializationListener() {
+                @Override
+                public void initializationStarted(int taskCount) {
+                    throw failure;
+                }
+            })
+            .build()
+            .initAsync();
+
+        var thrown = assertThrows(ExecutionException.class, () -> future.get(3, TimeUnit.SECONDS));
+
+        assertSame(failure, thrown.getCause());
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+}
@@ -0,0 +1,161 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import tools.mdsd.library.standalone.initialization.impl.CompletedTaskRegistry;
+
+class InitializationListenerTest {
+
+    @Test
+    void notifiesAllListenersIfOneFailsWhenTheInitializationFinished() {
+        var failure = new IllegalStateException("listener failed");
+        var recorder = new RecordingListener();
+        var initializer = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(() -> {
+            })
+            .addInitializationListener(new InitializationListener() {
+                @Override
+                public void initializationFinished(Duration elapsed, Throwable initializationFailure) {
+                    throw failure;
+                }
+            })
+            .addInitializationListener(recorder)
+            .build();
+
+        var thrown = assertThrows(IllegalStateException.class, initializer::init);
+
+        assertSame(failure, thrown);
+        assertTrue(recorder.events.contains("initializationFinished"));
+    }
+
+    @Test
+    void keepsTheTaskCompletedIfAListenerFailsWhenTheTaskFinished() {
+        var key = "test:" + UUID.randomUUID();
+        var failure = new IllegalStateException("listener failed");
+        var recorder = new RecordingListener();
+        var initializer = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(new KeyedTask(key))
+            .addInitializationListener(new InitializationListener() {
+                @Override
+                public void taskFinished(InitializationTask task, Duration elapsed) {
+                    throw failure;
+                }
+            })
+            .addInitializationListener(recorder)
+            .build();
+
+        var thrown = assertThrows(IllegalStateException.class, initializer::init);
+
+        assertSame(failure, thrown);
+        assertTrue(CompletedTaskRegistry.isCompleted(key));
+        assertEquals(List.of("initializationStarted", "taskStarted", "taskFinished", "taskFailed",
+                "initializationFinished"), recorder.events);
+        assertSame(failure, recorder.taskFailure);
+    }
+
+    @Test
+    void attachesListenerFailuresToTheFailureOfTheTask() {
+        var taskFailure = new StandaloneInitializationException("task failed");
+        var listenerFailure = new IllegalStateException("listener failed");
+        var recorder = new RecordingListener();
+        var initializer = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(() -> {
+                throw taskFailure;
+            })
+            .addInitializationListener(new InitializationListener() {
+                @Override
+                public void taskFailed(InitializationTask task, Duration elapsed, Throwable failure) {
+                    throw listenerFailure;
+                }
+            })
+            .addInitializationListener(recorder)
+            .build();
+
+        var thrown = assertThrows(StandaloneInitializationException.class, initializer::init);
+
+        assertSame(taskFailure, thrown);
+        assertEquals(List.of(listenerFailure), List.of(thrown.getSuppressed()));
+        assertSame(taskFailure, recorder.taskFailure);
+    }
+
+    /**
+     * Records the names of the notifications in the order of their delivery.
+     */
+    static class RecordingListener implements InitializationListener {
+
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        volatile Throwable taskFailure;
+
+        @Override
+        public void initializationStarted(int taskCount) {
+            events.add("initializationStarted");
+        }
+
+        @Override
+        public void initializationFinished(Duration elapsed, Throwable failure) {
+            events.add("initializationFinished");
+        }
+
+        @Override
+        public void taskStarted(InitializationTask task) {
+            events.add("taskStarted");
+        }
+
+        @Override
+        public void taskFinished(InitializationTask task, Duration elapsed) {
+            events.add("taskFinished");
+        }
+
+        @Override
+        public void taskSkipped(InitializationTask task) {
+            events.add("taskSkipped");
+        }
+
+        @Override
+        public void taskFailed(InitializationTask task, Duration elapsed, Throwable failure) {
+            events.add("taskFailed");
+            taskFailure = failure;
+        }
+    }
+
+    /**
+     * Task without effect that is identified by the given key.
+     */
+    static class KeyedTask implements InitializationTask {
+
+        private final String key;
+
+        KeyedTask(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public Optional<String> getIdentityKey() {
+            return Optional.of(key);
+        }
+
+        @Override
+        public void initilizationWithoutPlatform() {
+            // no registrations
+        }
+    }
+
+}
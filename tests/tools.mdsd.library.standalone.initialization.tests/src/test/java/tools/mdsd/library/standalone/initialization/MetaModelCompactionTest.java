@@ -0,0 +1,106 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.mdsd.library.standalone.initialization.core.MetaModelCompaction;
+import tools.mdsd.library.standalone.initialization.core.MetaModelRegistrationTask;
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
+
+class MetaModelCompactionTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void registerEcoreFactory() {
+        MetaModelRegistrationTest.registerEcoreFactory();
+    }
+
+    @Test
+    void reportsPackagesAsRegisteredOnlyAfterTheCompaction()
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        var projectName = "project-" + UUID.randomUUID();
+        var nsURI = MetaModelRegistrationTest.writeMetaModel(directory, projectName);
+        var release = new CountDownLatch(1);
+        var registration = new MetaModelRegistrationTask(projectName, "model/test.ecore");
+        var compaction = new MetaModelCompaction();
+
+        var future = StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .useMetaModelCompaction(compaction)
+            .addCustomTask(new ProjectURIByLocationRegistration(directory.toFile(), projectName))
+            .addCustomTask(registration)
+            .addCustomTask(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                        .interrupt();
+                }
+            })
+            .build()
+            .initAsync();
+        var packageRegistered = future.whenPackageRegistered(nsURI);
+
+        future.whenTaskCompleted(registration)
+            .get(3, TimeUnit.SECONDS);
+        assertFalse(packageRegistered.isDone());
+
+        release.countDown();
+        packageRegistered.get(3, TimeUnit.SECONDS);
+        assertNotNull(compaction.getFootprint());
+        assertNull(EPackage.Registry.INSTANCE.getEPackage(nsURI)
+            .eResource()
+            .getResourceSet());
+        future.get(3, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void keepsPackagesLoadedByOtherComponents() throws IOException, StandaloneInitializationException {
+        var projectName = "project-" + UUID.randomUUID();
+        var nsURI = MetaModelRegistrationTest.writeMetaModel(directory, projectName);
+        var resourceSet = new ResourceSetImpl();
+        var ePackage = (EPackage) resourceSet.getResource(URI.createFileURI(directory.resolve("model/test.ecore")
+            .toString()), true)
+            .getContents()
+            .get(0);
+        var name = new String(ePackage.getName());
+        ePackage.setName(name);
+        EPackage.Registry.INSTANCE.put(nsURI, ePackage);
+
+        try {
+            StandaloneInitializerBuilder.builder()
+                .useEcoreClasspathDetection(false)
+                .useArchiveFileSystemCache(false)
+                .useMetaModelCompaction(true)
+                .build()
+                .init();
+
+            assertSame(resourceSet, ePackage.eResource()
+                .getResourceSet());
+            assertSame(name, ePackage.getName());
+        } finally {
+            EPackage.Registry.INSTANCE.remove(nsURI);
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.mdsd.library.standalone.initialization.core.MetaModelRegistrationTask;
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
+
+class MetaModelRegistrationTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void registerEcoreFactory() {
+        // usually registered by the classpath detection, which is disabled in the tests
+        Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap()
+            .putIfAbsent("ecore", new EcoreResourceFactoryImpl());
+    }
+
+    @Test
+    void loadsAMetaModelEagerlyAfterItHasBeenRegisteredLazily()
+            throws IOException, StandaloneInitializationException {
+        var projectName = "project-" + UUID.randomUUID();
+        var nsURI = writeMetaModel(directory, projectName);
+        new ProjectURIByLocationRegistration(directory.toFile(), projectName).init();
+
+        register(new MetaModelRegistrationTask(projectName, "model/test.ecore", null, true));
+        assertFalse(registeredValue(nsURI) instanceof EPackage);
+
+        register(new MetaModelRegistrationTask(projectName, "model/test.ecore", null, false));
+        assertTrue(registeredValue(nsURI) instanceof EPackage);
+    }
+
+    @Test
+    void loadsAMetaModelOfAProjectRegisteredByTheSameTask() throws IOException, StandaloneInitializationException {
+        var projectName = "project-" + UUID.randomUUID();
+        var nsURI = writeMetaModel(directory, projectName);
+
+        register(() -> {
+            new ProjectURIByLocationRegistration(directory.toFile(), projectName).init();
+            new MetaModelRegistrationTask(projectName, "model/test.ecore").init();
+        });
+
+        assertTrue(registeredValue(nsURI) instanceof EPackage);
+    }
+
+    @Test
+    void loadsAMetaModelOfAProjectRegisteredByTheSameTaskInAScope()
+            throws IOException, StandaloneInitializationException {
+        var projectName = "project-" + UUID.randomUUID();
+        var nsURI = writeMetaModel(directory, projectName);
+        var scope = new InitializationScope();
+
+        StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .useScope(scope)
+            .addCustomTask(() -> {
+                new ProjectURIByLocationRegistration(directory.toFile(), projectName).init();
+                new MetaModelRegistrationTask(projectName, "model/test.ecore").init();
+            })
+            .build()
+            .init();
+
+        assertNotNull(scope.getPackageRegistry()
+            .getEPackage(nsURI));
+        assertNull(registeredValue(nsURI));
+    }
+
+    /**
+     * Writes a meta model with a single class to model/test.ecore in the given folder.
+     */
+    static String writeMetaModel(Path directory, String projectName) throws IOException {
+        var nsURI = "http://example.org/" + projectName;
+        Files.createDirectories(directory.resolve("model"));
+        Files.writeString(directory.resolve("model/test.ecore"),
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                        + "<ecore:EPackage xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\" "
+                        + "xmlns:ecore=\"http://www.eclipse.org/emf/2002/Ecore\" name=\"test\" nsURI=\"" + nsURI
+                        + "\" nsPrefix=\"test\">\n"
+                        + "  <eClassifiers xsi:type=\"ecore:EClass\" "
+                        + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" name=\"Element\"/>\n"
+                        + "</ecore:EPackage>\n");
+        return nsURI;
+    }
+
+    private static void register(InitializationTask task) throws StandaloneInitializationException {
+        StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(task)
+            .build()
+            .init();
+    }
+
+    private static Object registeredValue(String nsURI) {
+        synchronized (EPackageRegistryImpl.INSTANCE) {
+            // get() would resolve a descriptor
+            return EPackageRegistryImpl.INSTANCE.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey()
+                    .equals(nsURI))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        }
+    }
+
+}
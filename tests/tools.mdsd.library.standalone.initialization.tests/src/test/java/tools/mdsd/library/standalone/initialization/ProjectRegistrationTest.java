@@ -0,0 +1,75 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.mdsd.library.standalone.initialization.impl.ProjectURIByLocationRegistration;
+
+class ProjectRegistrationTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void registersAPreviousLocationAgain() throws StandaloneInitializationException {
+        var projectName = "project-" + UUID.randomUUID();
+        var first = directory.resolve("first")
+            .toFile();
+        var second = directory.resolve("second")
+            .toFile();
+
+        register(first, projectName);
+        register(second, projectName);
+        register(first, projectName);
+
+        assertEquals(URI.createFileURI(first.getAbsolutePath())
+            .appendSegment(""),
+                EcorePlugin.getPlatformResourceMap()
+                    .get(projectName));
+    }
+
+    @Test
+    void registersProjectsWhileTheClasspathIsDetectedInParallel() throws StandaloneInitializationException {
+        var builder = StandaloneInitializerBuilder.builder()
+            .useArchiveFileSystemCache(false)
+            .useParallelExecution(true);
+        var projectNames = new ArrayList<String>();
+        for (var i = 0; i < 16; i++) {
+            var projectName = "project-" + UUID.randomUUID();
+            projectNames.add(projectName);
+            builder.addCustomTask(new ProjectURIByLocationRegistration(directory.resolve(projectName)
+                .toFile(), projectName));
+        }
+
+        builder.build()
+            .init();
+
+        for (var projectName : projectNames) {
+            assertEquals(URI.createFileURI(directory.resolve(projectName)
+                .toFile()
+                .getAbsolutePath())
+                .appendSegment(""),
+                    EcorePlugin.getPlatformResourceMap()
+                        .get(projectName));
+        }
+    }
+
+    private static void register(File location, String projectName) throws StandaloneInitializationException {
+        StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(new ProjectURIByLocationRegistration(location, projectName))
+            .build()
+            .init();
+    }
+
+}
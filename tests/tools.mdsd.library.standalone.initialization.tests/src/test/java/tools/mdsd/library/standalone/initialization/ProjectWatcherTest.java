@@ -0,0 +1,167 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.mdsd.library.standalone.initialization.core.EclipseProjectScanner;
+import tools.mdsd.library.standalone.initialization.core.ProjectWatcher;
+
+class ProjectWatcherTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(300);
+
+    @TempDir
+    Path directory;
+
+    private ProjectWatcher watcher;
+
+    @AfterEach
+    void closeWatcher() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void publishesAddedMovedAndRemovedProjectsInDebouncedBatches()
+            throws IOException, InterruptedException, StandaloneInitializationException {
+        var first = "project-" + UUID.randomUUID();
+        var second = "project-" + UUID.randomUUID();
+        var third = "project-" + UUID.randomUUID();
+        writeProject(directory.resolve("first"), first);
+        BlockingQueue<Batch> batches = new LinkedBlockingQueue<>();
+        watch().addListener((registered, unregistered) -> batches.add(new Batch(registered, unregistered)));
+
+        // both projects are added within the debounce period
+        writeProject(directory.resolve("second"), second);
+        writeProject(directory.resolve("third"), third);
+        var added = batches.poll(10, TimeUnit.SECONDS);
+        assertNotNull(added);
+        assertEquals(Set.of(second, third), added.registered.keySet());
+        assertEquals(Set.of(), added.unregistered);
+        assertRegistered(second, directory.resolve("second"));
+
+        Files.move(directory.resolve("first"), directory.resolve("moved"));
+        var moved = batches.poll(10, TimeUnit.SECONDS);
+        assertNotNull(moved);
+        assertEquals(Map.of(first, directory.resolve("moved")
+            .toFile()), moved.registered);
+        assertEquals(Set.of(), moved.unregistered);
+        assertRegistered(first, directory.resolve("moved"));
+
+        delete(directory.resolve("second"));
+        var removed = batches.poll(10, TimeUnit.SECONDS);
+        assertNotNull(removed);
+        assertEquals(Map.of(), removed.registered);
+        assertEquals(Set.of(second), removed.unregistered);
+        assertNull(EcorePlugin.getPlatformResourceMap()
+            .get(second));
+
+        assertNull(batches.poll(DEBOUNCE.multipliedBy(3)
+            .toMillis(), TimeUnit.MILLISECONDS));
+        assertTrue(watcher.isActive());
+    }
+
+    @Test
+    void passesFailuresOfAListenerToTheListener()
+            throws IOException, InterruptedException, StandaloneInitializationException {
+        var failure = new IllegalStateException("listener failed");
+        BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+        writeProject(directory.resolve("first"), "project-" + UUID.randomUUID());
+        watch().addListener(new ProjectWatcher.Listener() {
+            @Override
+            public void projectsChanged(Map<String, File> registered, Set<String> unregistered) {
+                throw failure;
+            }
+
+            @Override
+            public void updateFailed(Exception updateFailure) {
+                failures.add(updateFailure);
+            }
+        });
+
+        writeProject(directory.resolve("second"), "project-" + UUID.randomUUID());
+        assertSame(failure, failures.poll(10, TimeUnit.SECONDS));
+
+        // the watcher keeps publishing changes
+        writeProject(directory.resolve("third"), "project-" + UUID.randomUUID());
+        assertSame(failure, failures.poll(10, TimeUnit.SECONDS));
+        assertTrue(watcher.isActive());
+
+        watcher.close();
+        assertFalse(watcher.isActive());
+    }
+
+    private ProjectWatcher watch() throws StandaloneInitializationException {
+        var scanner = EclipseProjectScanner.builder(directory)
+            .watch(DEBOUNCE)
+            .build();
+        StandaloneInitializerBuilder.builder()
+            .useEcoreClasspathDetection(false)
+            .useArchiveFileSystemCache(false)
+            .addCustomTask(scanner)
+            .build()
+            .init();
+        watcher = scanner.getWatcher()
+            .orElseThrow();
+        return watcher;
+    }
+
+    private static void writeProject(Path location, String projectName) throws IOException {
+        Files.createDirectories(location);
+        Files.writeString(location.resolve(EclipseProjectScanner.PROJECT_FILE_NAME),
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<projectDescription>\n\t<name>" + projectName
+                        + "</name>\n</projectDescription>\n");
+    }
+
+    private static void delete(Path location) throws IOException {
+        try (Stream<Path> paths = Files.walk(location)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void assertRegistered(String projectName, Path location) {
+        assertEquals(URI.createFileURI(location.toFile()
+            .getAbsolutePath())
+            .appendSegment(""),
+                EcorePlugin.getPlatformResourceMap()
+                    .get(projectName));
+    }
+
+    private static class Batch {
+        private final Map<String, File> registered;
+        private final Set<String> unregistered;
+
+        Batch(Map<String, File> registered, Set<String> unregistered) {
+            this.registered = registered;
+            this.unregistered = unregistered;
+        }
+    }
+
+}
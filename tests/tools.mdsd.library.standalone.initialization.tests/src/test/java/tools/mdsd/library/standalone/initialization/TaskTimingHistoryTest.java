@@ -0,0 +1,51 @@
+package tools.mdsd.library.standalone.initialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.mdsd.library.standalone.initialization.core.TaskTimingHistory;
+
+class TaskTimingHistoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesTasksWithLongKeys() {
+        var historyFile = directory.resolve("history.bin");
+        // more than the 65535 bytes of modified UTF-8 that DataOutput.writeUTF can write
+        var longTask = task("ä".repeat(40_000));
+        var shortTask = task("short");
+
+        var history = new TaskTimingHistory(historyFile, null, TaskTimingHistory.DEFAULT_CHANGE_FACTOR);
+        history.initializationStarted(2);
+        history.taskFinished(longTask, Duration.ofMillis(20));
+        history.taskFinished(shortTask, Duration.ofMillis(30));
+        history.initializationFinished(Duration.ofMillis(50), null);
+
+        var loaded = new TaskTimingHistory(historyFile, null, TaskTimingHistory.DEFAULT_CHANGE_FACTOR);
+        assertEquals(Optional.of(Duration.ofMillis(20)), loaded.getEstimate(longTask));
+        assertEquals(Optional.of(Duration.ofMillis(30)), loaded.getEstimate(shortTask));
+    }
+
+    private static InitializationTask task(String description) {
+        return new InitializationTask() {
+            @Override
+            public void initilizationWithoutPlatform() {
+                // only the description is used
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+
+}